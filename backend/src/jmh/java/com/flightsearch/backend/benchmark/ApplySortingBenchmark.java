@@ -0,0 +1,49 @@
+package com.flightsearch.backend.benchmark;
+
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.SortingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts a full mapped flight list with SortingUtils.applySorting, which builds the
+ * primitive sort keys and the permutation from scratch on every call. Each invocation
+ * sorts its own copy of the list, so the copy is part of the measured cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ApplySortingBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String fixture;
+
+    @Param({"price", "duration"})
+    public String sortBy;
+
+    @Param({"ASC", "DES"})
+    public String order;
+
+    private List<FlightSummary> flights;
+    private SortingUtils sortingUtils;
+
+    @Setup
+    public void setUp() {
+        GeneralResponse response = BenchmarkFixtures.parseFixture(fixture);
+        flights = new FlightOfferMapper(BenchmarkFixtures.itineraryMapper())
+                .buildEssentialFlightList(response.getData(), response.getDictionaries());
+        sortingUtils = new SortingUtils();
+    }
+
+    @Benchmark
+    public List<FlightSummary> applySorting() {
+        List<FlightSummary> sorted = new ArrayList<>(flights);
+        sortingUtils.applySorting(sorted, sortBy, order);
+        return sorted;
+    }
+}
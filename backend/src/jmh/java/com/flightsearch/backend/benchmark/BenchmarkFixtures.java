@@ -0,0 +1,57 @@
+package com.flightsearch.backend.benchmark;
+
+import com.flightsearch.backend.airport.AirportIndex;
+import com.flightsearch.backend.airport.AirportResolver;
+import com.flightsearch.backend.client.AmadeusJsonReaders;
+import com.flightsearch.backend.mapper.FlightItineraryMapper;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.utils.DurationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the recorded Amadeus flight-offers fixtures (small = 10 one-way offers,
+ * medium = 50 round-trip offers, large = 250 round-trip offers) and wires the mappers
+ * the benchmarks exercise, without a Spring context or network access.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static byte[] readFixture(String size) {
+        String path = "fixtures/amadeus/flight-offers-" + size + ".json";
+        try (InputStream input = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(path)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing fixture: " + path);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read fixture: " + path, e);
+        }
+    }
+
+    static GeneralResponse parseFixture(String size) {
+        try {
+            return AmadeusJsonReaders.FLIGHT_OFFERS.readValue(readFixture(size));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not parse fixture: " + size, e);
+        }
+    }
+
+    /**
+     * Airport names come from the bundled index only; there is no Amadeus client to fall
+     * back to, so unknown codes map to themselves.
+     */
+    static AirportResolver airportResolver() {
+        return new AirportResolver(
+                null, new AirportIndex("airports.csv"), Runnable::run, new SearchMetrics(new SimpleMeterRegistry()), 1, 0, 0);
+    }
+
+    static FlightItineraryMapper itineraryMapper() {
+        return new FlightItineraryMapper(airportResolver(), new DurationUtils());
+    }
+}
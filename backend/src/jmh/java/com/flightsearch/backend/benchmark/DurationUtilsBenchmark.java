@@ -0,0 +1,74 @@
+package com.flightsearch.backend.benchmark;
+
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.flightoptions.Itinerary;
+import com.flightsearch.backend.model.flightoptions.Segment;
+import com.flightsearch.backend.utils.DurationUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the DurationUtils parse and format functions over every itinerary duration and
+ * every layover of a recorded response, the inputs the itinerary mapper feeds them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DurationUtilsBenchmark {
+
+    @Param({"medium", "large"})
+    public String fixture;
+
+    private final DurationUtils durationUtils = new DurationUtils();
+    private List<String> isoDurations;
+    private List<String[]> layovers;
+    private List<Duration> durations;
+
+    @Setup
+    public void setUp() {
+        GeneralResponse response = BenchmarkFixtures.parseFixture(fixture);
+        isoDurations = new ArrayList<>();
+        layovers = new ArrayList<>();
+        durations = new ArrayList<>();
+        for (FlightOffer offer : response.getData()) {
+            for (Itinerary itinerary : offer.getItineraries()) {
+                isoDurations.add(itinerary.getDuration());
+                durations.add(Duration.parse(itinerary.getDuration()));
+                List<Segment> segments = itinerary.getSegments();
+                for (int i = 0; i < segments.size() - 1; i++) {
+                    layovers.add(new String[]{
+                            segments.get(i).getArrival().getAt(),
+                            segments.get(i + 1).getDeparture().getAt()
+                    });
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatIsoStringToReadable(Blackhole blackhole) {
+        for (String isoDuration : isoDurations) {
+            blackhole.consume(durationUtils.formatIsoStringToReadable(isoDuration));
+        }
+    }
+
+    @Benchmark
+    public void formatDurationToReadable(Blackhole blackhole) {
+        for (Duration duration : durations) {
+            blackhole.consume(durationUtils.formatDurationToReadable(duration));
+        }
+    }
+
+    @Benchmark
+    public void calculateDurationBetween(Blackhole blackhole) {
+        for (String[] layover : layovers) {
+            blackhole.consume(durationUtils.calculateDurationBetween(layover[0], layover[1]));
+        }
+    }
+}
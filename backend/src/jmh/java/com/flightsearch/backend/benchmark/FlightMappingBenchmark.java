@@ -0,0 +1,52 @@
+package com.flightsearch.backend.benchmark;
+
+import com.flightsearch.backend.mapper.FlightItineraryMapper;
+import com.flightsearch.backend.mapper.FlightOfferDetailMapper;
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.response.FlightDetail;
+import com.flightsearch.backend.model.response.FlightSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a parsed response into the essential flight list, and every offer of it into its
+ * detailed view, as SearchService does for the search and detail endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FlightMappingBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String fixture;
+
+    private GeneralResponse response;
+    private FlightOfferMapper flightOfferMapper;
+    private FlightOfferDetailMapper flightOfferDetailMapper;
+
+    @Setup
+    public void setUp() {
+        response = BenchmarkFixtures.parseFixture(fixture);
+        FlightItineraryMapper itineraryMapper = BenchmarkFixtures.itineraryMapper();
+        flightOfferMapper = new FlightOfferMapper(itineraryMapper);
+        flightOfferDetailMapper = new FlightOfferDetailMapper(itineraryMapper);
+    }
+
+    @Benchmark
+    public List<FlightSummary> buildEssentialFlightList() {
+        return flightOfferMapper.buildEssentialFlightList(response.getData(), response.getDictionaries());
+    }
+
+    @Benchmark
+    public void buildDetailedFlightOptions(Blackhole blackhole) {
+        for (FlightOffer offer : response.getData()) {
+            FlightDetail detail = flightOfferDetailMapper.buildDetailedFlightOption(offer, response.getDictionaries());
+            blackhole.consume(detail);
+        }
+    }
+}
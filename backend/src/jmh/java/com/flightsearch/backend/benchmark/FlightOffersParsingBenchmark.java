@@ -0,0 +1,41 @@
+package com.flightsearch.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.flightsearch.backend.client.AmadeusJsonReaders;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a recorded flight-offers response the way AmadeusClient does: streamed from the
+ * response body through the shared reader, never buffered as a String.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FlightOffersParsingBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String fixture;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = BenchmarkFixtures.readFixture(fixture);
+        if (parseStream().getData().isEmpty()) {
+            throw new IllegalStateException("No offers parsed from fixture " + fixture);
+        }
+    }
+
+    @Benchmark
+    public GeneralResponse parseStream() throws IOException {
+        try (JsonParser parser = AmadeusJsonReaders.FLIGHT_OFFERS.createParser(new ByteArrayInputStream(body))) {
+            parser.nextToken();
+            return AmadeusJsonReaders.FLIGHT_OFFERS.readValue(parser);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.flightsearch.backend.benchmark;
+
+import com.flightsearch.backend.model.flightoptions.Dictionaries;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.Itinerary;
+import com.flightsearch.backend.model.flightoptions.Segment;
+import com.flightsearch.backend.utils.DurationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The essential flight list as it was built before the typed response model: one
+ * LinkedHashMap per flight, itinerary and stop. Kept only as the baseline for
+ * ResponseModelBenchmark.
+ */
+final class LegacyMapTreeBuilder {
+
+    private final DurationUtils durationUtils = new DurationUtils();
+    private final UnaryOperator<String> airportNames;
+
+    LegacyMapTreeBuilder(UnaryOperator<String> airportNames) {
+        this.airportNames = airportNames;
+    }
+
+    List<Map<String, Object>> buildEssentialFlightList(List<FlightOffer> flightOffers, Dictionaries dictionaries) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (FlightOffer offer : flightOffers) {
+            if (offer.getItineraries() == null || offer.getItineraries().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> flightMap = new LinkedHashMap<>();
+            flightMap.put("id", offer.getId());
+            flightMap.put("itineraries", buildEssentialItineraryData(offer.getItineraries(), dictionaries));
+            if (offer.getPrice() != null) {
+                flightMap.put("totalPrice", offer.getPrice().getGrandTotal());
+                flightMap.put("currency", offer.getPrice().getCurrency());
+            }
+            if (offer.getTravelerPricings() != null && !offer.getTravelerPricings().isEmpty()) {
+                flightMap.put("pricePerTraveler", offer.getTravelerPricings().getFirst().getPrice().getTotal());
+            }
+            result.add(flightMap);
+        }
+        return result;
+    }
+
+    private List<Map<String, Object>> buildEssentialItineraryData(List<Itinerary> itineraries, Dictionaries dictionaries) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Itinerary itinerary : itineraries) {
+            Map<String, Object> itineraryMap = new LinkedHashMap<>();
+            List<Segment> segments = itinerary.getSegments();
+            Segment firstSegment = segments.getFirst();
+            Segment lastSegment = segments.getLast();
+
+            itineraryMap.put("initialDeparture", firstSegment.getDeparture().getAt());
+            itineraryMap.put("finalArrival", lastSegment.getArrival().getAt());
+            itineraryMap.put("departureAirportCode", firstSegment.getDeparture().getIataCode());
+            itineraryMap.put("departureAirportName", airportNames.apply(firstSegment.getDeparture().getIataCode()));
+            itineraryMap.put("arrivalAirportCode", lastSegment.getArrival().getIataCode());
+            itineraryMap.put("arrivalAirportName", airportNames.apply(lastSegment.getArrival().getIataCode()));
+
+            String mainAirlineCode = firstSegment.getCarrierCode();
+            itineraryMap.put("airlineCode", mainAirlineCode);
+            itineraryMap.put("airlineName", dictionaries.getCarriers().getOrDefault(mainAirlineCode, mainAirlineCode));
+            if (firstSegment.getOperating() != null && firstSegment.getOperating().getCarrierCode() != null) {
+                String operatingAirlineCode = firstSegment.getOperating().getCarrierCode();
+                if (!operatingAirlineCode.equals(mainAirlineCode)) {
+                    itineraryMap.put("operatingAirlineCode", operatingAirlineCode);
+                    itineraryMap.put("operatingAirlineName",
+                            dictionaries.getCarriers().getOrDefault(operatingAirlineCode, operatingAirlineCode));
+                }
+            }
+            itineraryMap.put("totalFlightTime", durationUtils.formatIsoStringToReadable(itinerary.getDuration()));
+
+            List<Map<String, Object>> stops = new ArrayList<>();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                Duration layover = durationUtils.calculateDurationBetween(
+                        segments.get(i).getArrival().getAt(),
+                        segments.get(i + 1).getDeparture().getAt()
+                );
+                Map<String, Object> stopInfo = new LinkedHashMap<>();
+                stopInfo.put("airportCode", segments.get(i).getArrival().getIataCode());
+                stopInfo.put("layoverTime", durationUtils.formatDurationToReadable(layover));
+                stops.add(stopInfo);
+            }
+            if (!stops.isEmpty()) {
+                itineraryMap.put("stops", stops);
+            }
+            result.add(itineraryMap);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.flightsearch.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightsearch.backend.mapper.FlightItineraryMapper;
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building and serializing the essential flight list as typed records against
+ * the previous LinkedHashMap tree. Run with the gc profiler (configured in build.gradle)
+ * to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseModelBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String fixture;
+
+    private GeneralResponse response;
+    private FlightOfferMapper flightOfferMapper;
+    private LegacyMapTreeBuilder legacyBuilder;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        response = BenchmarkFixtures.parseFixture(fixture);
+        FlightItineraryMapper itineraryMapper = BenchmarkFixtures.itineraryMapper();
+        flightOfferMapper = new FlightOfferMapper(itineraryMapper);
+        legacyBuilder = new LegacyMapTreeBuilder(BenchmarkFixtures.airportResolver()::getName);
+        objectMapper = new ObjectMapper();
+
+        if (!Arrays.equals(recordsToJson(), mapTreeToJson())) {
+            throw new IllegalStateException("Record and map tree JSON differ for fixture " + fixture);
+        }
+    }
+
+    @Benchmark
+    public byte[] recordsToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                flightOfferMapper.buildEssentialFlightList(response.getData(), response.getDictionaries()));
+    }
+
+    @Benchmark
+    public byte[] mapTreeToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                legacyBuilder.buildEssentialFlightList(response.getData(), response.getDictionaries()));
+    }
+}
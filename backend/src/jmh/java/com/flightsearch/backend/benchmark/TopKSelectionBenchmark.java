@@ -0,0 +1,69 @@
+package com.flightsearch.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.PaginationUtils;
+import com.flightsearch.backend.utils.SortIndex;
+import com.flightsearch.backend.utils.SortingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serving a shallow page through bounded heap selection against fully sorting
+ * the result first. Every invocation starts from a fresh SortIndex so neither path is
+ * served from a cached permutation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TopKSelectionBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"medium", "large"})
+    public String fixture;
+
+    @Param({"0", "1"})
+    public int page;
+
+    @Param({"price", "duration"})
+    public String sortBy;
+
+    private List<FlightSummary> flights;
+    private long[] priceCents;
+    private long[] durationMinutes;
+    private PaginationUtils paginationUtils;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        GeneralResponse response = BenchmarkFixtures.parseFixture(fixture);
+        flights = new FlightOfferMapper(BenchmarkFixtures.itineraryMapper())
+                .buildEssentialFlightList(response.getData(), response.getDictionaries());
+        SortIndex sortIndex = new SortingUtils().buildSortIndex(flights);
+        priceCents = sortIndex.keysFor("price");
+        durationMinutes = sortIndex.keysFor("duration");
+        paginationUtils = new PaginationUtils();
+
+        if (!fullSortPage().equals(topKPage())) {
+            throw new IllegalStateException("Top-K and full sort pages differ for fixture " + fixture);
+        }
+    }
+
+    @Benchmark
+    public List<FlightSummary> fullSortPage() {
+        int[] positions = new SortIndex(priceCents, durationMinutes).permutation(sortBy, "ASC");
+        return paginationUtils.applyOffset(flights, positions, paginationUtils.offset(page, PAGE_SIZE), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<FlightSummary> topKPage() {
+        int offset = paginationUtils.offset(page, PAGE_SIZE);
+        int[] positions = new SortIndex(priceCents, durationMinutes)
+                .sortedPrefix(sortBy, "ASC", offset + PAGE_SIZE);
+        return paginationUtils.applyOffset(flights, positions, offset, PAGE_SIZE);
+    }
+}
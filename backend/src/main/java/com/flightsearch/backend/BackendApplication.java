@@ -3,10 +3,13 @@ package com.flightsearch.backend;
 import com.flightsearch.backend.utils.DurationUtils;
 import com.flightsearch.backend.utils.PaginationUtils;
 import com.flightsearch.backend.utils.SortingUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @SpringBootApplication
 public class BackendApplication {
@@ -15,9 +18,16 @@ public class BackendApplication {
 		SpringApplication.run(BackendApplication.class, args);
 	}
 
-	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	/**
+	 * Executor for concurrent upstream calls. Follows the servlet container: one virtual
+	 * thread per task when virtual threads are enabled, a cached platform pool otherwise.
+	 */
+	@Bean(destroyMethod = "close")
+	public ExecutorService upstreamExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		if (virtualThreads) {
+			return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-", 0).factory());
+		}
+		return Executors.newCachedThreadPool(Thread.ofPlatform().name("upstream-", 0).factory());
 	}
 
 	@Bean
@@ -0,0 +1,237 @@
+package com.flightsearch.backend;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.flightsearch.backend.cache.CachedSearch;
+import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.response.FareCalendar;
+import com.flightsearch.backend.model.response.FareCalendarCell;
+import com.flightsearch.backend.model.response.FareStatus;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.SortIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class FareCalendarService {
+
+    private final SearchService searchService;
+    private final Executor upstreamExecutor;
+    private final int maxConcurrency;
+    private final int maxWindowDays;
+    private final long timeoutNanos;
+
+    /**
+     * FareCalendarService answers flexible-date searches with the cheapest fare of every
+     * departure (and return) date in a window around the requested ones. Each date
+     * combination is an ordinary search run through SearchService, so combinations already
+     * cached cost nothing and identical concurrent searches are coalesced. Searches missing
+     * from the cache run in parallel with bounded concurrency; combinations not done by the
+     * deadline are reported as timed out and keep loading into the cache.
+     *
+     * @param searchService service that serves cached searches and loads missing ones
+     * @param upstreamExecutor executor for concurrent upstream calls
+     * @param maxConcurrency maximum number of searches of one calendar running at once
+     * @param maxWindowDays largest accepted window on each side of a date
+     * @param timeoutMillis how long a calendar waits for its searches
+     */
+    @Autowired
+    public FareCalendarService(
+            SearchService searchService,
+            @Qualifier("upstreamExecutor") Executor upstreamExecutor,
+            @Value("${calendar.max_concurrency:4}") int maxConcurrency,
+            @Value("${calendar.max_window_days:3}") int maxWindowDays,
+            @Value("${calendar.timeout_ms:15000}") long timeoutMillis
+    ) {
+        this.searchService = searchService;
+        this.upstreamExecutor = upstreamExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.maxWindowDays = maxWindowDays;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Builds the cheapest-fare matrix for every departure date within windowDays of
+     * departureDate and, for round trips, every return date within windowDays of
+     * arrivalDate that is not before the departure. Dates in the past are skipped.
+     *
+     * @param windowDays days on each side of the requested dates, capped at the configured maximum
+     * @return one cell per date combination, row by row, with complete=false if any
+     *         combination timed out or failed
+     */
+    public FareCalendar getFareCalendar(
+            String departureAirportKeyword,
+            Boolean isDepartureCode,
+            String arrivalAirportKeyword,
+            Boolean isArrivalCode,
+            String departureDate,
+            String arrivalDate,
+            int windowDays,
+            int numAdults,
+            CurrencyType currency,
+            boolean nonStop
+    ) {
+        int window = Math.clamp(windowDays, 0, maxWindowDays);
+        LocalDate today = LocalDate.now();
+        boolean roundTrip = arrivalDate != null && !arrivalDate.isEmpty();
+        List<LocalDate> departures = datesAround(parseDate(departureDate), window, today);
+        List<LocalDate> returns = roundTrip ? datesAround(parseDate(arrivalDate), window, today) : List.of();
+
+        List<LocalDate[]> combinations = new ArrayList<>();
+        for (LocalDate departure : departures) {
+            if (!roundTrip) {
+                combinations.add(new LocalDate[]{departure, null});
+                continue;
+            }
+            for (LocalDate ret : returns) {
+                if (!ret.isBefore(departure)) {
+                    combinations.add(new LocalDate[]{departure, ret});
+                }
+            }
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<CachedSearch>> searches = new ArrayList<>();
+        for (LocalDate[] combination : combinations) {
+            searches.add(CompletableFuture.supplyAsync(() -> search(
+                    permits, deadline,
+                    departureAirportKeyword, isDepartureCode,
+                    arrivalAirportKeyword, isArrivalCode,
+                    combination[0].toString(),
+                    combination[1] == null ? "" : combination[1].toString(),
+                    numAdults, currency, nonStop
+            ), upstreamExecutor));
+        }
+        awaitSearches(searches, deadline);
+
+        List<FareCalendarCell> cells = new ArrayList<>();
+        boolean complete = true;
+        for (int i = 0; i < combinations.size(); i++) {
+            LocalDate[] combination = combinations.get(i);
+            FareCalendarCell cell = buildCell(
+                    combination[0].toString(),
+                    combination[1] == null ? null : combination[1].toString(),
+                    searches.get(i)
+            );
+            complete &= cell.status() == FareStatus.FOUND || cell.status() == FareStatus.NO_FLIGHTS;
+            cells.add(cell);
+        }
+        return new FareCalendar(
+                currency.name(),
+                departures.stream().map(LocalDate::toString).toList(),
+                returns.stream().map(LocalDate::toString).toList(),
+                cells,
+                complete
+        );
+    }
+
+    /**
+     * Runs one search of the calendar once a concurrency permit is free, or gives up if
+     * none frees up before the calendar deadline.
+     */
+    private CachedSearch search(
+            Semaphore permits, long deadline,
+            String departureAirportKeyword, Boolean isDepartureCode,
+            String arrivalAirportKeyword, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop
+    ) {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new CompletionException(new TimeoutException("No search slot before the calendar deadline"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        try {
+            return searchService.getSearch(
+                    departureAirportKeyword, isDepartureCode,
+                    arrivalAirportKeyword, isArrivalCode,
+                    departureDate, arrivalDate,
+                    numAdults, currency, nonStop
+            );
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Waits for the searches until the deadline. Searches still running afterwards are
+     * left to finish and fill the cache.
+     */
+    private void awaitSearches(List<CompletableFuture<CachedSearch>> searches, long deadline) {
+        try {
+            CompletableFuture.allOf(searches.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Reported per cell.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FareCalendarCell buildCell(
+            String departureDate,
+            String returnDate,
+            CompletableFuture<CachedSearch> result
+    ) {
+        if (!result.isDone()) {
+            return new FareCalendarCell(departureDate, returnDate, FareStatus.TIMED_OUT, null, null, null);
+        }
+        CachedSearch search;
+        try {
+            search = result.join();
+        } catch (CompletionException e) {
+            FareStatus status = e.getCause() instanceof TimeoutException ? FareStatus.TIMED_OUT : FareStatus.FAILED;
+            return new FareCalendarCell(departureDate, returnDate, status, null, null, null);
+        }
+
+        SortIndex sortIndex = search.getSortIndex();
+        int[] cheapest = sortIndex.sortedPrefix("price", "ASC", 1);
+        if (cheapest.length == 0 || sortIndex.keysFor("price")[cheapest[0]] == SortIndex.MISSING_KEY) {
+            return new FareCalendarCell(
+                    departureDate, returnDate, FareStatus.NO_FLIGHTS, null, null, search.getSearchId());
+        }
+        FlightSummary flight = search.getMappedFlights().get(cheapest[0]);
+        return new FareCalendarCell(
+                departureDate, returnDate, FareStatus.FOUND, flight.totalPrice(), flight.id(), search.getSearchId());
+    }
+
+    private static List<LocalDate> datesAround(LocalDate center, int window, LocalDate today) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int offset = -window; offset <= window; offset++) {
+            LocalDate date = center.plusDays(offset);
+            if (!date.isBefore(today)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date: " + date, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.model.response.FlightSummary;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Receiver of a streamed flight search: any number of flights, then one summary.
+ */
+public interface FlightStream {
+
+    void flight(FlightSummary flight) throws IOException;
+
+    void summary(Map<String, Object> summary) throws IOException;
+}
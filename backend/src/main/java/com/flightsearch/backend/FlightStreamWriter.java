@@ -0,0 +1,66 @@
+package com.flightsearch.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flightsearch.backend.model.response.FlightStreamEvent;
+import com.flightsearch.backend.model.response.FlightSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public class FlightStreamWriter implements FlightStream {
+
+    private final OutputStream output;
+    private final ObjectWriter writer;
+    private final boolean serverSentEvents;
+
+    /**
+     * FlightStreamWriter writes a flight stream to a response body, either as NDJSON (one
+     * FlightStreamEvent per line) or as Server-Sent Events (the event type as event name and
+     * the flight, summary or error as data). Every event is flushed as soon as it is written,
+     * and writes block while the client is slow to read.
+     *
+     * @param output the response body
+     * @param objectMapper mapper used for the events
+     * @param serverSentEvents true for Server-Sent Events, false for NDJSON
+     */
+    public FlightStreamWriter(OutputStream output, ObjectMapper objectMapper, boolean serverSentEvents) {
+        this.output = output;
+        this.writer = objectMapper.writer();
+        this.serverSentEvents = serverSentEvents;
+    }
+
+    @Override
+    public void flight(FlightSummary flight) throws IOException {
+        write(FlightStreamEvent.flight(flight));
+    }
+
+    @Override
+    public void summary(Map<String, Object> summary) throws IOException {
+        write(FlightStreamEvent.summary(summary));
+    }
+
+    /**
+     * Ends the stream with an error event instead of a summary.
+     *
+     * @param message description of the failure
+     */
+    public void error(String message) throws IOException {
+        write(FlightStreamEvent.error(message));
+    }
+
+    private void write(FlightStreamEvent event) throws IOException {
+        if (serverSentEvents) {
+            output.write(("event: " + event.type() + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+            output.write(writer.writeValueAsBytes(event.data()));
+            output.write('\n');
+            output.write('\n');
+        } else {
+            output.write(writer.writeValueAsBytes(event));
+            output.write('\n');
+        }
+        output.flush();
+    }
+}
@@ -0,0 +1,212 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.FlightFilter;
+import com.flightsearch.backend.model.response.FareCalendar;
+import com.flightsearch.backend.model.response.FlightDetail;
+import com.flightsearch.backend.model.response.FlightStreamEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1")
+public class ReactiveSearchController {
+
+    private final ReactiveSearchService service;
+    private final FareCalendarService fareCalendarService;
+
+    /**
+     * ReactiveSearchController exposes the flight search endpoints of SearchController,
+     * with the same paths, parameters and responses, on the non-blocking stack.
+     *
+     * @param service the ReactiveSearchService to handle flight logic
+     * @param fareCalendarService the FareCalendarService to handle flexible-date searches;
+     *                            it blocks, so it runs on the bounded elastic scheduler
+     */
+    @Autowired
+    public ReactiveSearchController(ReactiveSearchService service, FareCalendarService fareCalendarService) {
+        this.service = service;
+        this.fareCalendarService = fareCalendarService;
+    }
+
+    /**
+     * Retrieves a list of flights in an essential format. Supports optional
+     * round-trip search (if arrivalDate is provided), filtering, sorting, and pagination.
+     * Departure and arrival time windows ("HH:mm") apply to the outbound itinerary;
+     * maxDuration is the total flight time in minutes. Pass the "nextCursor" of a page as
+     * cursor to get the next page of the same results, even if they were refreshed since.
+     */
+    @GetMapping("/flights")
+    public Mono<ResponseEntity<Map<String, Object>>> getAllFlightOptions(
+            @RequestParam String departureAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isDepartureCode,
+            @RequestParam String arrivalAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isArrivalCode,
+            @RequestParam String departureDate,
+            @RequestParam(defaultValue = "") String arrivalDate,
+            @RequestParam int numAdults,
+            @RequestParam CurrencyType currency,
+            @RequestParam boolean nonStop,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer maxStops,
+            @RequestParam(required = false) Set<String> airlines,
+            @RequestParam(required = false) Set<String> excludedAirlines,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime departureTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime departureTimeTo,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime arrivalTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime arrivalTimeTo,
+            @RequestParam(required = false) Integer maxDuration,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return service.getFlightOptions(
+                departureAirportKeyword,
+                isDepartureCode,
+                arrivalAirportKeyword,
+                isArrivalCode,
+                departureDate,
+                arrivalDate,
+                numAdults,
+                currency,
+                nonStop,
+                new FlightFilter(
+                        maxPrice,
+                        maxStops,
+                        airlines,
+                        excludedAirlines,
+                        departureTimeFrom,
+                        departureTimeTo,
+                        arrivalTimeFrom,
+                        arrivalTimeTo,
+                        maxDuration
+                ),
+                sortBy,
+                order,
+                cursor,
+                page,
+                size
+        ).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams every flight of a search, then a summary event with the "counter", "facets"
+     * and "searchId" of the search. Sent as Server-Sent Events if the client accepts
+     * text/event-stream, as NDJSON otherwise. Failures are reported as an error event.
+     */
+    @GetMapping(value = "/flights/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<Flux<?>> streamFlightOptions(
+            @RequestParam String departureAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isDepartureCode,
+            @RequestParam String arrivalAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isArrivalCode,
+            @RequestParam String departureDate,
+            @RequestParam(defaultValue = "") String arrivalDate,
+            @RequestParam int numAdults,
+            @RequestParam CurrencyType currency,
+            @RequestParam boolean nonStop,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String order,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept
+    ) {
+        Flux<FlightStreamEvent> events = service.streamFlightOptions(
+                departureAirportKeyword,
+                isDepartureCode,
+                arrivalAirportKeyword,
+                isArrivalCode,
+                departureDate,
+                arrivalDate,
+                numAdults,
+                currency,
+                nonStop,
+                sortBy,
+                order
+        ).onErrorResume(e -> Mono.just(FlightStreamEvent.error(e.getMessage())));
+        if (accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(events.map(event -> ServerSentEvent.builder(event.data()).event(event.type()).build()));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(events);
+    }
+
+    /**
+     * Retrieves the cheapest fare of every date combination within windowDays of the
+     * requested departure (and return) date. Combinations that did not finish in time
+     * come back as TIMED_OUT, with complete=false.
+     */
+    @GetMapping("/flights/calendar")
+    public Mono<ResponseEntity<FareCalendar>> getFareCalendar(
+            @RequestParam String departureAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isDepartureCode,
+            @RequestParam String arrivalAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isArrivalCode,
+            @RequestParam String departureDate,
+            @RequestParam(defaultValue = "") String arrivalDate,
+            @RequestParam(defaultValue = "3") int windowDays,
+            @RequestParam int numAdults,
+            @RequestParam CurrencyType currency,
+            @RequestParam boolean nonStop
+    ) {
+        return Mono.fromCallable(() -> fareCalendarService.getFareCalendar(
+                        departureAirportKeyword,
+                        isDepartureCode,
+                        arrivalAirportKeyword,
+                        isArrivalCode,
+                        departureDate,
+                        arrivalDate,
+                        windowDays,
+                        numAdults,
+                        currency,
+                        nonStop
+                ))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves detailed information for a single flight offer.
+     *
+     * @param id the flight offer ID
+     */
+    @GetMapping("/flights/{id}")
+    public Mono<ResponseEntity<FlightDetail>> getDetailedFlightOption(@PathVariable String id) {
+        return service.getDetailedFlightOption(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Retrieves detailed information for a single flight offer of a specific search.
+     *
+     * @param searchId the search ID returned by the flight search
+     * @param id the flight offer ID
+     */
+    @GetMapping("/searches/{searchId}/flights/{id}")
+    public Mono<ResponseEntity<FlightDetail>> getDetailedFlightOption(
+            @PathVariable String searchId,
+            @PathVariable String id
+    ) {
+        return service.getDetailedFlightOption(searchId, id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
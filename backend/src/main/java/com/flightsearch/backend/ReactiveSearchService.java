@@ -0,0 +1,372 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.airport.AirportResolver;
+import com.flightsearch.backend.cache.CachedSearch;
+import com.flightsearch.backend.cache.SearchResultCache;
+import com.flightsearch.backend.client.CircuitBreaker;
+import com.flightsearch.backend.client.ReactiveAmadeusClient;
+import com.flightsearch.backend.mapper.FlightOfferDetailMapper;
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.metrics.SearchStage;
+import com.flightsearch.backend.metrics.StageOutcome;
+import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.FlightFilter;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.response.FlightDetail;
+import com.flightsearch.backend.model.response.FlightStreamEvent;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.PaginationUtils;
+import com.flightsearch.backend.utils.SortIndex;
+import com.flightsearch.backend.utils.SortingUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+@Profile("reactive")
+public class ReactiveSearchService {
+
+    private final ReactiveAmadeusClient amadeusFlightClient;
+    private final AirportResolver airportResolver;
+    private final FlightOfferMapper flightOfferMapper;
+    private final FlightOfferDetailMapper flightOfferDetailMapper;
+    private final SortingUtils sortingUtils;
+    private final PaginationUtils paginationUtils;
+    private final SearchResultCache searchResultCache;
+    private final CircuitBreaker circuitBreaker;
+    private final SearchMetrics searchMetrics;
+    private final Duration airportResolutionTimeout;
+    private final Map<String, CompletableFuture<CachedSearch>> inFlight = new ConcurrentHashMap<>();
+    private volatile String lastSearchId = "";
+
+    /**
+     * ReactiveSearchService is the non-blocking counterpart of SearchService for the
+     * reactive profile. It runs the same pipeline (resolve airports, fetch, parse, map,
+     * sort, page) as one Mono chain and shares the result cache, the circuit breaker and
+     * the cache keys with it. Airport keywords and names missing from the local index are
+     * still resolved through the blocking AirportResolver, on the bounded elastic scheduler.
+     *
+     * @param amadeusFlightClient non-blocking client for the flight-offers API
+     * @param airportResolver resolver for airport keywords and names
+     * @param flightOfferMapper mapper for essential flight data
+     * @param flightOfferDetailMapper mapper for detailed flight data
+     * @param sortingUtils utility for flight sorting
+     * @param paginationUtils utility for pagination
+     * @param searchResultCache bounded cache holding one entry per search
+     * @param circuitBreaker breaker that stops flight queries while Amadeus keeps failing
+     * @param searchMetrics per-stage timers and cache counters
+     * @param airportResolutionTimeoutMillis shared deadline for resolving both airport keywords
+     */
+    @Autowired
+    public ReactiveSearchService(
+            ReactiveAmadeusClient amadeusFlightClient,
+            AirportResolver airportResolver,
+            FlightOfferMapper flightOfferMapper,
+            FlightOfferDetailMapper flightOfferDetailMapper,
+            SortingUtils sortingUtils,
+            PaginationUtils paginationUtils,
+            SearchResultCache searchResultCache,
+            CircuitBreaker circuitBreaker,
+            SearchMetrics searchMetrics,
+            @Value("${search.airport_resolution_timeout_ms:5000}") long airportResolutionTimeoutMillis
+    ) {
+        this.amadeusFlightClient = amadeusFlightClient;
+        this.airportResolver = airportResolver;
+        this.flightOfferMapper = flightOfferMapper;
+        this.flightOfferDetailMapper = flightOfferDetailMapper;
+        this.sortingUtils = sortingUtils;
+        this.paginationUtils = paginationUtils;
+        this.searchResultCache = searchResultCache;
+        this.circuitBreaker = circuitBreaker;
+        this.searchMetrics = searchMetrics;
+        this.airportResolutionTimeout = Duration.ofMillis(airportResolutionTimeoutMillis);
+    }
+
+    /**
+     * Retrieves flight offers in a summarized (essential) format, filtered, sorted and paginated.
+     * Stale cached results are served right away while a refresh runs in the background.
+     * A cursor from an earlier page selects the next page of that page's snapshot instead.
+     *
+     * @return a map containing flight data, a "counter" of total results, the "facets" of
+     *         all results, the "searchId" to use for detail lookups, and the "freshness"
+     *         and "fetchedAt" of the fares.
+     */
+    public Mono<Map<String, Object>> getFlightOptions(
+            String departureAirportKeyword,
+            Boolean isDepartureCode,
+            String arrivalAirportKeyword,
+            Boolean isArrivalCode,
+            String departureDate,
+            String arrivalDate,
+            int numAdults,
+            CurrencyType currency,
+            boolean nonStop,
+            FlightFilter filter,
+            String sortBy,
+            String order,
+            String cursor,
+            int page,
+            int size
+    ) {
+        if (cursor != null && !cursor.isEmpty()) {
+            return Mono.fromSupplier(() -> SearchService.buildCursorPage(
+                    searchResultCache, paginationUtils, searchMetrics,
+                    cursor,
+                    SearchService.buildCacheKey(
+                            departureAirportKeyword, isDepartureCode,
+                            arrivalAirportKeyword, isArrivalCode,
+                            departureDate, arrivalDate,
+                            numAdults, currency, nonStop
+                    ),
+                    filter, sortBy, order, size));
+        }
+        return getSearch(
+                departureAirportKeyword, isDepartureCode,
+                arrivalAirportKeyword, isArrivalCode,
+                departureDate, arrivalDate,
+                numAdults, currency, nonStop
+        ).map(loaded -> {
+            lastSearchId = loaded.getSearchId();
+            return SearchService.buildResultPage(
+                    loaded, searchResultCache.isFresh(loaded), paginationUtils, searchMetrics,
+                    filter, sortBy, order, page, size);
+        });
+    }
+
+    /**
+     * Streams every flight of a search, sorted by sortBy/order, then a summary event with
+     * the "counter", "facets", "searchId", "freshness" and "fetchedAt" of the search. The
+     * flights are emitted as the subscriber requests them. Unlike the servlet stack, the
+     * Amadeus response is still read in one go before the first flight is sent.
+     *
+     * @return the flight events followed by the summary event
+     */
+    public Flux<FlightStreamEvent> streamFlightOptions(
+            String departureAirportKeyword,
+            Boolean isDepartureCode,
+            String arrivalAirportKeyword,
+            Boolean isArrivalCode,
+            String departureDate,
+            String arrivalDate,
+            int numAdults,
+            CurrencyType currency,
+            boolean nonStop,
+            String sortBy,
+            String order
+    ) {
+        return getSearch(
+                departureAirportKeyword, isDepartureCode,
+                arrivalAirportKeyword, isArrivalCode,
+                departureDate, arrivalDate,
+                numAdults, currency, nonStop
+        ).flatMapMany(search -> {
+            lastSearchId = search.getSearchId();
+            long start = System.nanoTime();
+            int[] positions = search.getSortIndex().permutation(sortBy, order);
+            searchMetrics.record(SearchStage.SORTING, start);
+            List<FlightSummary> flights = search.getMappedFlights();
+            return Flux.range(0, flights.size())
+                    .map(i -> FlightStreamEvent.flight(flights.get(positions == null ? i : positions[i])))
+                    .concatWith(Mono.fromSupplier(() -> {
+                        Map<String, Object> summary =
+                                SearchService.buildSummary(search, searchResultCache.isFresh(search));
+                        summary.put("counter", search.getCount());
+                        summary.put("sorted", positions != null);
+                        return FlightStreamEvent.summary(summary);
+                    }));
+        });
+    }
+
+    /**
+     * Returns the results of one search from the cache, or loads them (once for all
+     * concurrent callers). Stale results are returned right away while a refresh runs.
+     */
+    private Mono<CachedSearch> getSearch(
+            String departureAirportKeyword, Boolean isDepartureCode,
+            String arrivalAirportKeyword, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop
+    ) {
+        return Mono.defer(() -> {
+            String key = SearchService.buildCacheKey(
+                    departureAirportKeyword, isDepartureCode,
+                    arrivalAirportKeyword, isArrivalCode,
+                    departureDate, arrivalDate,
+                    numAdults, currency, nonStop
+            );
+            Supplier<Mono<CachedSearch>> loader = () -> loadSearch(
+                    key,
+                    departureAirportKeyword, isDepartureCode,
+                    arrivalAirportKeyword, isArrivalCode,
+                    departureDate, arrivalDate,
+                    numAdults, currency, nonStop
+            );
+            CachedSearch search = searchResultCache.get(key);
+            Mono<CachedSearch> result;
+            if (search == null) {
+                result = Mono.fromFuture(load(key, loader), true);
+            } else {
+                if (!searchResultCache.isFresh(search) && circuitBreaker.allowsRequests()) {
+                    load(key, loader);
+                }
+                result = Mono.just(search);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Retrieves a single flight offer in a detailed format from the results of the most
+     * recent search.
+     *
+     * @param flightOfferId the ID of the flight offer to fetch
+     * @return detailed flight information, or empty if not found
+     */
+    public Mono<FlightDetail> getDetailedFlightOption(String flightOfferId) {
+        return Mono.defer(() -> getDetailedFlightOption(lastSearchId, flightOfferId));
+    }
+
+    /**
+     * Retrieves a single flight offer in a detailed format from the cached results of the
+     * given search.
+     *
+     * @param searchId the search ID returned by the flight search
+     * @param flightOfferId the ID of the flight offer to fetch
+     * @return detailed flight information, or empty if not found
+     */
+    public Mono<FlightDetail> getDetailedFlightOption(String searchId, String flightOfferId) {
+        return Mono.fromSupplier(() -> {
+            CachedSearch search = searchResultCache.getBySearchId(searchId);
+            if (search == null) {
+                return null;
+            }
+            FlightOffer offer = search.findOffer(flightOfferId);
+            if (offer == null) {
+                return null;
+            }
+            long start = System.nanoTime();
+            FlightDetail detail = flightOfferDetailMapper.buildDetailedFlightOption(offer, search.getDictionaries());
+            searchMetrics.record(SearchStage.DETAIL_MAPPING, start);
+            return detail;
+        });
+    }
+
+    /**
+     * Starts the load for a key unless one is already running and returns the shared
+     * result. The load is subscribed independently of the callers, so a client that goes
+     * away does not cancel it for the others.
+     */
+    private CompletableFuture<CachedSearch> load(String key, Supplier<Mono<CachedSearch>> loader) {
+        CompletableFuture<CachedSearch> created = new CompletableFuture<>();
+        CompletableFuture<CachedSearch> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        created.whenComplete((search, error) -> inFlight.remove(key, created));
+        loader.get().subscribe(created::complete, created::completeExceptionally);
+        return created;
+    }
+
+    private Mono<CachedSearch> loadSearch(
+            String key,
+            String departureAirportKeyword, Boolean isDepartureCode,
+            String arrivalAirportKeyword, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop
+    ) {
+        CachedSearch cached = searchResultCache.peek(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return timed(SearchStage.AIRPORT_RESOLUTION, Mono.zip(
+                        resolveAirportCode(departureAirportKeyword, isDepartureCode),
+                        resolveAirportCode(arrivalAirportKeyword, isArrivalCode)
+                ).timeout(airportResolutionTimeout))
+                .flatMap(codes -> timed(SearchStage.FETCH, guarded(amadeusFlightClient.fetchFlightData(
+                        codes.getT1(),
+                        codes.getT2(),
+                        departureDate,
+                        arrivalDate,
+                        numAdults,
+                        currency.name(),
+                        nonStop
+                ))))
+                .flatMap(amadeusResponse -> timed(SearchStage.AIRPORT_NAMES, prefetchAirportNames(amadeusResponse)))
+                .map(amadeusResponse -> {
+                    long start = System.nanoTime();
+                    List<FlightSummary> mappedFlights = flightOfferMapper.buildEssentialFlightList(
+                            amadeusResponse.getData(), amadeusResponse.getDictionaries());
+                    SortIndex sortIndex = sortingUtils.buildSortIndex(mappedFlights);
+                    searchMetrics.record(SearchStage.MAPPING, start);
+                    CachedSearch search = new CachedSearch(key, amadeusResponse, mappedFlights, sortIndex, Instant.now());
+                    searchResultCache.put(search);
+                    return search;
+                });
+    }
+
+    private Mono<String> resolveAirportCode(String airportKeyword, boolean isCode) {
+        if (isCode) {
+            return Mono.just(airportKeyword);
+        }
+        String knownCode = airportResolver.findKnownCode(airportKeyword);
+        if (knownCode != null) {
+            return Mono.just(knownCode);
+        }
+        return Mono.fromCallable(() -> airportResolver.resolveCode(airportKeyword))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<GeneralResponse> prefetchAirportNames(GeneralResponse amadeusResponse) {
+        return Mono.fromRunnable(() -> {
+                    airportResolver.recordCities(amadeusResponse.getDictionaries());
+                    airportResolver.prefetch(AirportResolver.collectAirportCodes(amadeusResponse));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(amadeusResponse);
+    }
+
+    /**
+     * Records the time from subscription until the stage completes, fails or is cancelled,
+     * tagged with how it ended.
+     */
+    private <T> Mono<T> timed(SearchStage stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono.doFinally(signal -> searchMetrics.record(stage, start, switch (signal) {
+                case ON_COMPLETE -> StageOutcome.SUCCESS;
+                case CANCEL -> StageOutcome.CANCELLED;
+                default -> StageOutcome.ERROR;
+            }));
+        });
+    }
+
+    /**
+     * Runs the call through the circuit breaker; client errors other than 429 do not count
+     * as upstream failures.
+     */
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return Mono.defer(() -> {
+            circuitBreaker.acquirePermission();
+            return call
+                    .doOnSuccess(ignored -> circuitBreaker.recordResult(false))
+                    .doOnError(e -> circuitBreaker.recordResult(!(e instanceof WebClientResponseException response
+                            && response.getStatusCode().is4xxClientError()
+                            && response.getStatusCode().value() != 429)));
+        });
+    }
+}
@@ -1,32 +1,57 @@
 package com.flightsearch.backend;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.FlightFilter;
+import com.flightsearch.backend.model.response.FareCalendar;
+import com.flightsearch.backend.model.response.FlightDetail;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalTime;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1")
 public class SearchController {
 
     private final SearchService service;
+    private final FareCalendarService fareCalendarService;
+    private final ObjectMapper objectMapper;
 
     /**
      * SearchController exposes endpoints for flight search operations.
      *
      * @param service the SearchService to handle flight logic
+     * @param fareCalendarService the FareCalendarService to handle flexible-date searches
+     * @param objectMapper the ObjectMapper used for streamed results
      */
     @Autowired
-    public SearchController(SearchService service) {
+    public SearchController(
+            SearchService service,
+            FareCalendarService fareCalendarService,
+            ObjectMapper objectMapper
+    ) {
         this.service = service;
+        this.fareCalendarService = fareCalendarService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Retrieves a list of flights in an essential format. Supports optional
-     * round-trip search (if arrivalDate is provided), sorting, and pagination.
+     * round-trip search (if arrivalDate is provided), filtering, sorting, and pagination.
+     * Departure and arrival time windows ("HH:mm") apply to the outbound itinerary;
+     * maxDuration is the total flight time in minutes. Pass the "nextCursor" of a page as
+     * cursor to get the next page of the same results, even if they were refreshed since.
      */
     @GetMapping("/flights")
     public ResponseEntity<Map<String, Object>> getAllFlightOptions(
@@ -39,8 +64,18 @@ public class SearchController {
             @RequestParam int numAdults,
             @RequestParam CurrencyType currency,
             @RequestParam boolean nonStop,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer maxStops,
+            @RequestParam(required = false) Set<String> airlines,
+            @RequestParam(required = false) Set<String> excludedAirlines,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime departureTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime departureTimeTo,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime arrivalTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime arrivalTimeTo,
+            @RequestParam(required = false) Integer maxDuration,
             @RequestParam(required = false) String sortBy,
             @RequestParam(required = false) String order,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
@@ -55,8 +90,20 @@ public class SearchController {
                     numAdults,
                     currency,
                     nonStop,
+                    new FlightFilter(
+                            maxPrice,
+                            maxStops,
+                            airlines,
+                            excludedAirlines,
+                            departureTimeFrom,
+                            departureTimeTo,
+                            arrivalTimeFrom,
+                            arrivalTimeTo,
+                            maxDuration
+                    ),
                     sortBy,
                     order,
+                    cursor,
                     page,
                     size
             );
@@ -66,15 +113,117 @@ public class SearchController {
         }
     }
 
+    /**
+     * Streams every flight of a search as soon as it is available, then a summary event
+     * with the "counter", "facets" and "searchId" of the search. Sent as Server-Sent
+     * Events if the client accepts text/event-stream, as NDJSON otherwise. Failures after
+     * the stream started are reported as an error event.
+     */
+    @GetMapping(value = "/flights/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamFlightOptions(
+            @RequestParam String departureAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isDepartureCode,
+            @RequestParam String arrivalAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isArrivalCode,
+            @RequestParam String departureDate,
+            @RequestParam(defaultValue = "") String arrivalDate,
+            @RequestParam int numAdults,
+            @RequestParam CurrencyType currency,
+            @RequestParam boolean nonStop,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String order,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept
+    ) {
+        boolean serverSentEvents = accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        StreamingResponseBody body = output -> {
+            FlightStreamWriter writer = new FlightStreamWriter(output, objectMapper, serverSentEvents);
+            try {
+                service.streamFlightOptions(
+                        departureAirportKeyword,
+                        isDepartureCode,
+                        arrivalAirportKeyword,
+                        isArrivalCode,
+                        departureDate,
+                        arrivalDate,
+                        numAdults,
+                        currency,
+                        nonStop,
+                        sortBy,
+                        order,
+                        writer
+                );
+            } catch (RuntimeException e) {
+                writer.error(e.getMessage());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(serverSentEvents ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieves the cheapest fare of every date combination within windowDays of the
+     * requested departure (and return) date. Combinations that did not finish in time
+     * come back as TIMED_OUT, with complete=false.
+     */
+    @GetMapping("/flights/calendar")
+    public ResponseEntity<FareCalendar> getFareCalendar(
+            @RequestParam String departureAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isDepartureCode,
+            @RequestParam String arrivalAirportKeyword,
+            @RequestParam(defaultValue = "true") Boolean isArrivalCode,
+            @RequestParam String departureDate,
+            @RequestParam(defaultValue = "") String arrivalDate,
+            @RequestParam(defaultValue = "3") int windowDays,
+            @RequestParam int numAdults,
+            @RequestParam CurrencyType currency,
+            @RequestParam boolean nonStop
+    ) {
+        return ResponseEntity.ok(fareCalendarService.getFareCalendar(
+                departureAirportKeyword,
+                isDepartureCode,
+                arrivalAirportKeyword,
+                isArrivalCode,
+                departureDate,
+                arrivalDate,
+                windowDays,
+                numAdults,
+                currency,
+                nonStop
+        ));
+    }
+
     /**
      * Retrieves detailed information for a single flight offer.
      *
      * @param id the flight offer ID
      */
     @GetMapping("/flights/{id}")
-    public ResponseEntity<Map<String, Object>> getDetailedFlightOption(@PathVariable String id) {
+    public ResponseEntity<FlightDetail> getDetailedFlightOption(@PathVariable String id) {
+        try {
+            FlightDetail flight = service.getDetailedFlightOption(id);
+            return ResponseEntity.ok(flight);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves detailed information for a single flight offer of a specific search.
+     *
+     * @param searchId the search ID returned by the flight search
+     * @param id the flight offer ID
+     */
+    @GetMapping("/searches/{searchId}/flights/{id}")
+    public ResponseEntity<FlightDetail> getDetailedFlightOption(
+            @PathVariable String searchId,
+            @PathVariable String id
+    ) {
         try {
-            Map<String, Object> flight = service.getDetailedFlightOption(id);
+            FlightDetail flight = service.getDetailedFlightOption(searchId, id);
+            if (flight == null) {
+                return ResponseEntity.notFound().build();
+            }
             return ResponseEntity.ok(flight);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
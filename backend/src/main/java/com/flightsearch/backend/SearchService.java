@@ -1,33 +1,73 @@
 package com.flightsearch.backend;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.flightsearch.backend.airport.AirportResolver;
+import com.flightsearch.backend.cache.CachedSearch;
+import com.flightsearch.backend.cache.Freshness;
+import com.flightsearch.backend.cache.InFlightSearchRegistry;
+import com.flightsearch.backend.cache.SearchLoader;
+import com.flightsearch.backend.cache.SearchResultCache;
 import com.flightsearch.backend.client.AmadeusClient;
+import com.flightsearch.backend.client.CircuitBreaker;
 import com.flightsearch.backend.mapper.FlightOfferDetailMapper;
 import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.metrics.SearchStage;
+import com.flightsearch.backend.metrics.StageOutcome;
 import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.FlightFilter;
 import com.flightsearch.backend.model.flightoptions.Dictionaries;
 import com.flightsearch.backend.model.flightoptions.FlightOffer;
 import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.flightoptions.Itinerary;
+import com.flightsearch.backend.model.flightoptions.Segment;
+import com.flightsearch.backend.model.response.FlightDetail;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.PageCursor;
 import com.flightsearch.backend.utils.PaginationUtils;
+import com.flightsearch.backend.utils.SortIndex;
 import com.flightsearch.backend.utils.SortingUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
 public class SearchService {
 
+    private static final int MAX_AIRPORT_PAIRS = 9;
+
     private final AmadeusClient amadeusFlightClient;
+    private final AirportResolver airportResolver;
     private final FlightOfferMapper flightOfferMapper;
     private final FlightOfferDetailMapper flightOfferDetailMapper;
     private final SortingUtils sortingUtils;
     private final PaginationUtils paginationUtils;
-    private final Map<String, List<FlightOffer>> flightOffersCache = new HashMap<>();
-    private final Map<String, Dictionaries> dictionariesCache = new HashMap<>();
-    private final Map<String, List<Map<String, Object>>> mappedFlightsCache = new HashMap<>();
-    private final Map<String, Integer> cacheCountByKey = new HashMap<>();
-    private String cacheKey = "";
+    private final SearchResultCache searchResultCache;
+    private final InFlightSearchRegistry inFlightSearchRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final SearchMetrics searchMetrics;
+    private final Executor upstreamExecutor;
+    private final long airportResolutionTimeoutMillis;
+    private final int streamBufferFlights;
+    private volatile String lastSearchId = "";
 
     /**
      * SearchService coordinates calls to the AmadeusClient,
@@ -35,27 +75,52 @@ public class SearchService {
      * and delegates mapping to the mappers.
      *
      * @param amadeusFlightClient AmadeusClient for API calls
+     * @param airportResolver resolver for airport keywords and names
      * @param flightOfferMapper mapper for essential flight data
      * @param flightOfferDetailMapper mapper for detailed flight data
      * @param sortingUtils utility for flight sorting
      * @param paginationUtils utility for pagination
+     * @param searchResultCache bounded cache holding one entry per search
+     * @param inFlightSearchRegistry registry that coalesces identical concurrent searches
+     * @param circuitBreaker breaker that stops flight queries while Amadeus keeps failing
+     * @param searchMetrics per-stage timers and cache counters
+     * @param upstreamExecutor executor for concurrent upstream calls
+     * @param airportResolutionTimeoutMillis shared deadline for resolving both airport keywords
+     * @param streamBufferFlights flights a streaming client may fall behind the load before
+     *                            it is dropped
      */
     @Autowired
     public SearchService(
             AmadeusClient amadeusFlightClient,
+            AirportResolver airportResolver,
             FlightOfferMapper flightOfferMapper,
             FlightOfferDetailMapper flightOfferDetailMapper,
             SortingUtils sortingUtils,
-            PaginationUtils paginationUtils
+            PaginationUtils paginationUtils,
+            SearchResultCache searchResultCache,
+            InFlightSearchRegistry inFlightSearchRegistry,
+            CircuitBreaker circuitBreaker,
+            SearchMetrics searchMetrics,
+            @Qualifier("upstreamExecutor") Executor upstreamExecutor,
+            @Value("${search.airport_resolution_timeout_ms:5000}") long airportResolutionTimeoutMillis,
+            @Value("${search.stream_buffer_flights:100}") int streamBufferFlights
     ) {
         this.amadeusFlightClient = amadeusFlightClient;
+        this.airportResolver = airportResolver;
         this.flightOfferMapper = flightOfferMapper;
         this.flightOfferDetailMapper = flightOfferDetailMapper;
         this.sortingUtils = sortingUtils;
         this.paginationUtils = paginationUtils;
+        this.searchResultCache = searchResultCache;
+        this.inFlightSearchRegistry = inFlightSearchRegistry;
+        this.circuitBreaker = circuitBreaker;
+        this.searchMetrics = searchMetrics;
+        this.upstreamExecutor = upstreamExecutor;
+        this.airportResolutionTimeoutMillis = airportResolutionTimeoutMillis;
+        this.streamBufferFlights = Math.max(1, streamBufferFlights);
     }
 
-    private String buildCacheKey(
+    static String buildCacheKey(
             String departureAirportKeyword, Boolean isDepartureCode,
             String arrivalAirportKeyword, Boolean isArrivalCode,
             String departureDate, String arrivalDate,
@@ -67,11 +132,184 @@ public class SearchService {
                 + numAdults + "_" + currency + "_" + nonStop;
     }
 
+    /**
+     * Starts resolving an airport keyword on the upstream executor, unless it already is a
+     * code or a known city/airport name. The lookup runs as a FutureTask, so cancelling the
+     * returned future interrupts the thread still waiting on Amadeus.
+     */
+    private Future<String> resolveAirportCode(String airportKeyword, boolean isCode) {
+        if (isCode) {
+            return CompletableFuture.completedFuture(airportKeyword);
+        }
+        String knownCode = airportResolver.findKnownCode(airportKeyword);
+        if (knownCode != null) {
+            return CompletableFuture.completedFuture(knownCode);
+        }
+        FutureTask<String> lookup = new FutureTask<>(() -> airportResolver.resolveCode(airportKeyword));
+        upstreamExecutor.execute(lookup);
+        return lookup;
+    }
+
+    /**
+     * Waits until both airport lookups finished, under one deadline shared by both, so the
+     * flight query can start as soon as the slower of the two returns. If either lookup
+     * fails, times out or the caller is interrupted, the other one is cancelled as well.
+     *
+     * @return the departure and the arrival airport code
+     */
+    private String[] awaitAirportCodes(Future<String> departure, Future<String> arrival) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(airportResolutionTimeoutMillis);
+        try {
+            String departureCode = departure.get(airportResolutionTimeoutMillis, TimeUnit.MILLISECONDS);
+            String arrivalCode = arrival.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new String[]{departureCode, arrivalCode};
+        } catch (TimeoutException e) {
+            departure.cancel(true);
+            arrival.cancel(true);
+            throw new RuntimeException("Timed out resolving airport keywords", e);
+        } catch (InterruptedException e) {
+            departure.cancel(true);
+            arrival.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while resolving airport keywords", e);
+        } catch (ExecutionException e) {
+            departure.cancel(true);
+            arrival.cancel(true);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Resolves airports, fetches the offers from Amadeus, maps them and stores the result
+     * in the cache. Runs at most once per key at a time (see InFlightSearchRegistry).
+     * A non-null onOffer receives each offer while the response is still being read.
+     */
+    private CachedSearch loadSearch(
+            String key,
+            String departureAirportKeyword, Boolean isDepartureCode,
+            String arrivalAirportKeyword, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop,
+            Consumer<FlightOffer> onOffer
+    ) throws JsonProcessingException {
+        CachedSearch cached = searchResultCache.peek(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        StageOutcome outcome = StageOutcome.ERROR;
+        String[] airportCodes;
+        try {
+            airportCodes = awaitAirportCodes(
+                    resolveAirportCode(departureAirportKeyword, isDepartureCode),
+                    resolveAirportCode(arrivalAirportKeyword, isArrivalCode));
+            outcome = StageOutcome.SUCCESS;
+        } finally {
+            searchMetrics.record(SearchStage.AIRPORT_RESOLUTION, start, outcome);
+        }
+        String departureAirportCode = airportCodes[0];
+        String arrivalAirportCode = airportCodes[1];
+
+        start = System.nanoTime();
+        outcome = StageOutcome.ERROR;
+        GeneralResponse amadeusResponse;
+        try {
+            amadeusResponse = circuitBreaker.execute(() -> onOffer == null
+                    ? amadeusFlightClient.fetchFlightData(
+                            departureAirportCode,
+                            arrivalAirportCode,
+                            departureDate,
+                            arrivalDate,
+                            numAdults,
+                            currency.name(),
+                            nonStop)
+                    : amadeusFlightClient.fetchFlightData(
+                            departureAirportCode,
+                            arrivalAirportCode,
+                            departureDate,
+                            arrivalDate,
+                            numAdults,
+                            currency.name(),
+                            nonStop,
+                            onOffer));
+            outcome = StageOutcome.SUCCESS;
+        } finally {
+            searchMetrics.record(SearchStage.FETCH, start, outcome);
+        }
+
+        airportResolver.recordCities(amadeusResponse.getDictionaries());
+        start = System.nanoTime();
+        airportResolver.prefetch(AirportResolver.collectAirportCodes(amadeusResponse));
+        searchMetrics.record(SearchStage.AIRPORT_NAMES, start);
+
+        start = System.nanoTime();
+        List<FlightSummary> mappedFlights = flightOfferMapper.buildEssentialFlightList(
+                amadeusResponse.getData(), amadeusResponse.getDictionaries());
+        SortIndex sortIndex = sortingUtils.buildSortIndex(mappedFlights);
+        searchMetrics.record(SearchStage.MAPPING, start);
+
+        CachedSearch search = new CachedSearch(key, amadeusResponse, mappedFlights, sortIndex, Instant.now());
+        searchResultCache.put(search);
+        return search;
+    }
+
     /**
      * Retrieves flight offers in a summarized (essential) format, supports sorting and pagination,
      * and caches results for performance. If arrivalDate is provided, it fetches round-trip flights.
+     * Airport codes may list several airports ("JFK,LGA") or name a city with several
+     * airports ("NYC"); every origin/destination pair is then searched on its own and the
+     * results are merged into one list.
+     * Cached results past their TTL are served right away while a refresh runs in the
+     * background (skipped while the circuit breaker is open).
+     *
+     * @return a map containing flight data, a "counter" of total results, the "facets" of
+     *         all results, the "searchId" to use for detail lookups, and the "freshness"
+     *         and "fetchedAt" of the fares.
+     */
+    public Map<String, Object> getFlightOptions(
+            String departureAirportKeyword,
+            Boolean isDepartureCode,
+            String arrivalAirportKeyword,
+            Boolean isArrivalCode,
+            String departureDate,
+            String arrivalDate,
+            int numAdults,
+            CurrencyType currency,
+            boolean nonStop,
+            String sortBy,
+            String order,
+            int page,
+            int size
+    ) throws JsonProcessingException {
+        return getFlightOptions(
+                departureAirportKeyword, isDepartureCode,
+                arrivalAirportKeyword, isArrivalCode,
+                departureDate, arrivalDate,
+                numAdults, currency, nonStop,
+                FlightFilter.NONE, sortBy, order, null, page, size
+        );
+    }
+
+    /**
+     * Retrieves flight offers like {@link #getFlightOptions(String, Boolean, String, Boolean,
+     * String, String, int, CurrencyType, boolean, String, String, int, int)}, keeping only
+     * the flights that pass the filter. Filters are evaluated over the filter index of the
+     * cached search, so they cost no extra upstream call and share the cache entry of the
+     * unfiltered search.
+     *
+     * Every page carries a "nextCursor" while more results follow. Passing it back as
+     * cursor serves the next page from the same snapshot of the results, in the same sort
+     * and filter, instead of the page number.
      *
-     * @return a map containing flight data and a "counter" of total results.
+     * @param filter filters to apply; "counter" is then the number of matching flights
+     * @param cursor cursor of the page to return, or null to use page
+     * @return a map containing flight data, a "counter" of total results, the "facets" of
+     *         all results, the "searchId" to use for detail lookups, and the "freshness"
+     *         and "fetchedAt" of the fares.
      */
     public Map<String, Object> getFlightOptions(
             String departureAirportKeyword,
@@ -83,80 +321,628 @@ public class SearchService {
             int numAdults,
             CurrencyType currency,
             boolean nonStop,
+            FlightFilter filter,
             String sortBy,
             String order,
+            String cursor,
             int page,
             int size
     ) throws JsonProcessingException {
-        cacheKey = buildCacheKey(
+        if (cursor != null && !cursor.isEmpty()) {
+            String key = buildCacheKey(
+                    departureAirportKeyword, isDepartureCode,
+                    arrivalAirportKeyword, isArrivalCode,
+                    departureDate, arrivalDate,
+                    numAdults, currency, nonStop
+            );
+            return buildCursorPage(
+                    searchResultCache, paginationUtils, searchMetrics,
+                    cursor, key, filter, sortBy, order, size);
+        }
+        CachedSearch search = getSearch(
                 departureAirportKeyword, isDepartureCode,
                 arrivalAirportKeyword, isArrivalCode,
                 departureDate, arrivalDate,
                 numAdults, currency, nonStop
         );
+        lastSearchId = search.getSearchId();
+        return buildResultPage(
+                search, searchResultCache.isFresh(search), paginationUtils, searchMetrics,
+                filter, sortBy, order, page, size);
+    }
 
-        if (!mappedFlightsCache.containsKey(cacheKey)) {
-            if (!flightOffersCache.containsKey(cacheKey) || !dictionariesCache.containsKey(cacheKey)) {
-                String departureAirportCode = isDepartureCode
-                        ? departureAirportKeyword
-                        : amadeusFlightClient.fetchAirport(departureAirportKeyword).getIataCode();
-
-                String arrivalAirportCode = isArrivalCode
-                        ? arrivalAirportKeyword
-                        : amadeusFlightClient.fetchAirport(arrivalAirportKeyword).getIataCode();
-
-                GeneralResponse amadeusResponse = amadeusFlightClient.fetchFlightData(
-                        departureAirportCode,
-                        arrivalAirportCode,
-                        departureDate,
-                        arrivalDate,
-                        numAdults,
-                        currency.name(),
-                        nonStop
+    /**
+     * Streams every flight of a search, then a summary with the "counter", "facets",
+     * "searchId", "freshness" and "fetchedAt" of the search. If this request runs the
+     * Amadeus query itself, each flight is sent as soon as its offer has been parsed and
+     * mapped, in Amadeus order; airport and airline names not known yet at that point are
+     * sent as codes (the pages of the search ID have them all). Cached or shared results
+     * are sent at once, sorted by sortBy/order. The load runs on the upstream executor and
+     * hands the flights over through a bounded buffer, so a client that is slow to read
+     * never pauses reading the Amadeus response that other callers may be waiting for. If
+     * the client falls more than the buffer behind, forwarding stops and the flights it has
+     * not been sent yet follow from the finished result instead. A client that goes away
+     * mid-stream does not stop the load either; it still fills the cache.
+     *
+     * @param stream receiver of the flights and the summary
+     * @throws IOException if writing to the stream fails
+     */
+    public void streamFlightOptions(
+            String departureAirportKeyword,
+            Boolean isDepartureCode,
+            String arrivalAirportKeyword,
+            Boolean isArrivalCode,
+            String departureDate,
+            String arrivalDate,
+            int numAdults,
+            CurrencyType currency,
+            boolean nonStop,
+            String sortBy,
+            String order,
+            FlightStream stream
+    ) throws IOException {
+        FlightRelay relay = new FlightRelay(streamBufferFlights);
+        CompletableFuture<CachedSearch> load = CompletableFuture.supplyAsync(() -> {
+            try {
+                return getSearch(
+                        departureAirportKeyword, isDepartureCode,
+                        arrivalAirportKeyword, isArrivalCode,
+                        departureDate, arrivalDate,
+                        numAdults, currency, nonStop,
+                        relay
                 );
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            } finally {
+                relay.finish();
+            }
+        }, upstreamExecutor);
+        relay.drainTo(stream);
+        CachedSearch search;
+        try {
+            search = load.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        lastSearchId = search.getSearchId();
+
+        boolean sorted = false;
+        if (relay.isUsed()) {
+            for (FlightSummary flight : search.getMappedFlights()) {
+                if (!relay.wasStreamed(flight.id())) {
+                    stream.flight(flight);
+                }
+            }
+        } else {
+            long start = System.nanoTime();
+            int[] positions = search.getSortIndex().permutation(sortBy, order);
+            searchMetrics.record(SearchStage.SORTING, start);
+            sorted = positions != null;
+            List<FlightSummary> flights = search.getMappedFlights();
+            for (int i = 0; i < flights.size(); i++) {
+                stream.flight(flights.get(sorted ? positions[i] : i));
+            }
+        }
+        Map<String, Object> summary = buildSummary(search, searchResultCache.isFresh(search));
+        summary.put("counter", search.getCount());
+        summary.put("sorted", sorted);
+        stream.summary(summary);
+    }
+
+    /**
+     * Maps the offers of a streaming load on the loading thread and hands them to the
+     * request thread through a bounded buffer. Offers are forwarded once even if an attempt
+     * is retried. Handing over never blocks: once the buffer is full, or the client has
+     * gone away, forwarding stops and the load carries on alone.
+     */
+    private final class FlightRelay implements Consumer<FlightOffer> {
+
+        private static final Object FINISHED = new Object();
+
+        private final int capacity;
+        private final BlockingQueue<Object> buffer = new LinkedBlockingQueue<>();
+        private final Set<String> sent = new HashSet<>();
+        private final Set<String> streamed = new HashSet<>();
+        private volatile boolean used;
+        private volatile boolean closed;
+
+        private FlightRelay(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void accept(FlightOffer offer) {
+            used = true;
+            if (closed || !sent.add(String.valueOf(offer.getId()))) {
+                return;
+            }
+            for (FlightSummary flight : flightOfferMapper.buildEssentialFlightList(List.of(offer), null)) {
+                if (buffer.size() >= capacity) {
+                    closed = true;
+                    return;
+                }
+                buffer.add(flight);
+            }
+        }
+
+        /**
+         * Called by the loading thread once the load has ended, however it ended.
+         */
+        void finish() {
+            buffer.add(FINISHED);
+        }
+
+        /**
+         * Writes the forwarded flights to the stream until the load has ended.
+         *
+         * @throws IOException if writing to the stream fails
+         */
+        void drainTo(FlightStream stream) throws IOException {
+            try {
+                for (Object next = buffer.take(); next != FINISHED; next = buffer.take()) {
+                    FlightSummary flight = (FlightSummary) next;
+                    stream.flight(flight);
+                    streamed.add(flight.id());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while streaming flights", e);
+            } finally {
+                closed = true;
+                buffer.clear();
+            }
+        }
+
+        boolean isUsed() {
+            return used;
+        }
+
+        /**
+         * Tells whether drainTo already wrote the flight; only read once draining is done.
+         */
+        boolean wasStreamed(String flightId) {
+            return streamed.contains(flightId);
+        }
+    }
+
+    /**
+     * Returns the results of one search from the cache, or loads them from Amadeus (once for
+     * all concurrent callers of the same search). Results past their TTL are returned right
+     * away while a refresh runs in the background (skipped while the circuit breaker is open).
+     *
+     * @return the cached search
+     */
+    public CachedSearch getSearch(
+            String departureAirportKeyword, Boolean isDepartureCode,
+            String arrivalAirportKeyword, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop
+    ) throws JsonProcessingException {
+        return getSearch(
+                departureAirportKeyword, isDepartureCode,
+                arrivalAirportKeyword, isArrivalCode,
+                departureDate, arrivalDate,
+                numAdults, currency, nonStop,
+                null
+        );
+    }
+
+    /**
+     * Returns the results of one search like {@link #getSearch(String, Boolean, String,
+     * Boolean, String, String, int, CurrencyType, boolean)}. If this call ends up running
+     * the upstream load of a single airport pair itself, every offer is also handed to
+     * onOffer as soon as it is parsed; otherwise onOffer is never called.
+     */
+    private CachedSearch getSearch(
+            String departureAirportKeyword, Boolean isDepartureCode,
+            String arrivalAirportKeyword, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop,
+            Consumer<FlightOffer> onOffer
+    ) throws JsonProcessingException {
+        String key = buildCacheKey(
+                departureAirportKeyword, isDepartureCode,
+                arrivalAirportKeyword, isArrivalCode,
+                departureDate, arrivalDate,
+                numAdults, currency, nonStop
+        );
+        List<String> origins = expandAirports(departureAirportKeyword, isDepartureCode);
+        List<String> destinations = expandAirports(arrivalAirportKeyword, isArrivalCode);
+        if (origins.size() * destinations.size() > MAX_AIRPORT_PAIRS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_AIRPORT_PAIRS + " origin/destination airport pairs per search");
+        }
+
+        boolean singlePair = origins.size() == 1 && destinations.size() == 1;
+        SearchLoader loader = singlePair
+                ? () -> loadSearch(
+                        key,
+                        origins.getFirst(), isDepartureCode,
+                        destinations.getFirst(), isArrivalCode,
+                        departureDate, arrivalDate,
+                        numAdults, currency, nonStop,
+                        null)
+                : () -> loadMergedSearch(
+                        key,
+                        origins, isDepartureCode,
+                        destinations, isArrivalCode,
+                        departureDate, arrivalDate,
+                        numAdults, currency, nonStop);
+        CachedSearch search = searchResultCache.get(key);
+        if (search == null) {
+            SearchLoader streamingLoader = singlePair && onOffer != null
+                    ? () -> loadSearch(
+                            key,
+                            origins.getFirst(), isDepartureCode,
+                            destinations.getFirst(), isArrivalCode,
+                            departureDate, arrivalDate,
+                            numAdults, currency, nonStop,
+                            onOffer)
+                    : loader;
+            search = inFlightSearchRegistry.execute(key, streamingLoader);
+        } else if (!searchResultCache.isFresh(search) && circuitBreaker.allowsRequests()) {
+            inFlightSearchRegistry.refreshInBackground(key, loader, upstreamExecutor);
+        }
+        return search;
+    }
+
+    /**
+     * Splits a comma-separated list of airport codes and expands city codes with several
+     * known airports. A keyword that is not a code, or a single code that is not expanded,
+     * is kept exactly as given.
+     */
+    private List<String> expandAirports(String airportKeyword, boolean isCode) {
+        if (!isCode || airportKeyword == null) {
+            return Collections.singletonList(airportKeyword);
+        }
+        Set<String> airports = new LinkedHashSet<>();
+        boolean expanded = false;
+        for (String part : airportKeyword.split(",")) {
+            String code = part.trim().toUpperCase(Locale.ROOT);
+            if (code.isEmpty()) continue;
+            List<String> cityAirports = airportResolver.findCityAirports(code);
+            if (cityAirports.isEmpty()) {
+                airports.add(code);
+            } else {
+                airports.addAll(cityAirports);
+                expanded = true;
+            }
+        }
+        if (airports.size() <= 1 && !expanded) {
+            return List.of(airportKeyword);
+        }
+        return List.copyOf(airports);
+    }
+
+    /**
+     * Searches every origin/destination pair concurrently, each through its own cache entry,
+     * and merges the results. If some pairs fail, the merged result of the others is
+     * returned and kept by search ID only for a short while, so its pages and details work
+     * while the next search retries the failed pairs; if all fail, the first failure is
+     * thrown.
+     */
+    private CachedSearch loadMergedSearch(
+            String key,
+            List<String> origins, Boolean isDepartureCode,
+            List<String> destinations, Boolean isArrivalCode,
+            String departureDate, String arrivalDate,
+            int numAdults, CurrencyType currency, boolean nonStop
+    ) {
+        CachedSearch cached = searchResultCache.peek(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<CompletableFuture<CachedSearch>> pairSearches = new ArrayList<>();
+        for (String origin : origins) {
+            for (String destination : destinations) {
+                if (origin.equals(destination)) continue;
+                pairSearches.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return getSearch(
+                                origin, isDepartureCode,
+                                destination, isArrivalCode,
+                                departureDate, arrivalDate,
+                                numAdults, currency, nonStop
+                        );
+                    } catch (JsonProcessingException e) {
+                        throw new RuntimeException(e);
+                    }
+                }, upstreamExecutor));
+            }
+        }
+
+        List<CachedSearch> parts = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<CachedSearch> pairSearch : pairSearches) {
+            try {
+                parts.add(pairSearch.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (parts.isEmpty()) {
+            throw failure != null ? failure : new RuntimeException("No airport pairs to search");
+        }
+
+        CachedSearch search = mergeSearches(key, parts);
+        if (failure == null) {
+            searchResultCache.put(search);
+        } else {
+            searchResultCache.putPartial(search);
+        }
+        return search;
+    }
+
+    /**
+     * Merges the results of several airport pairs into one entry. Flights offered by more
+     * than one pair (e.g. a city code search overlapping an airport search) are kept from
+     * the pair offering them cheapest only; the distinct fares a single pair offers for the
+     * same flights are all kept. Flight IDs are prefixed with the pair number ("2-15") so
+     * they stay unique within the merged search.
+     */
+    private CachedSearch mergeSearches(String key, List<CachedSearch> parts) {
+        Map<String, Integer> cheapestPart = new HashMap<>();
+        Map<String, Long> cheapestPrice = new HashMap<>();
+        for (int part = 0; part < parts.size(); part++) {
+            CachedSearch search = parts.get(part);
+            long[] partPrices = search.getSortIndex().keysFor("price");
+            List<FlightSummary> partFlights = search.getMappedFlights();
+            for (int i = 0; i < partFlights.size(); i++) {
+                FlightOffer offer = search.findOffer(partFlights.get(i).id());
+                if (offer == null) continue;
+
+                String itinerary = itinerarySignature(offer, (part + 1) + "-" + partFlights.get(i).id());
+                Long cheapest = cheapestPrice.get(itinerary);
+                if (cheapest == null || partPrices[i] < cheapest) {
+                    cheapestPart.put(itinerary, part);
+                    cheapestPrice.put(itinerary, partPrices[i]);
+                }
+            }
+        }
 
-                flightOffersCache.put(cacheKey, amadeusResponse.getData());
-                dictionariesCache.put(cacheKey, amadeusResponse.getDictionaries());
-                cacheCountByKey.put(cacheKey, amadeusResponse.getMeta().getCount());
+        List<FlightOffer> offers = new ArrayList<>();
+        List<FlightSummary> flights = new ArrayList<>();
+        Instant fetchedAt = Instant.MAX;
+        for (int part = 0; part < parts.size(); part++) {
+            CachedSearch search = parts.get(part);
+            for (FlightSummary flight : search.getMappedFlights()) {
+                FlightOffer offer = search.findOffer(flight.id());
+                if (offer == null) continue;
+
+                String id = (part + 1) + "-" + flight.id();
+                if (cheapestPart.get(itinerarySignature(offer, id)) != part) continue;
+
+                offers.add(offer.withId(id));
+                flights.add(new FlightSummary(
+                        id, flight.itineraries(), flight.totalPrice(), flight.currency(), flight.pricePerTraveler()));
+            }
+            if (search.getFetchedAt().isBefore(fetchedAt)) {
+                fetchedAt = search.getFetchedAt();
             }
-            List<FlightOffer> flightList = flightOffersCache.get(cacheKey);
-            Dictionaries dictionaries = dictionariesCache.get(cacheKey);
-            List<Map<String, Object>> mappedFlights =
-                    flightOfferMapper.buildEssentialFlightList(flightList, dictionaries);
-            mappedFlightsCache.put(cacheKey, mappedFlights);
         }
 
-        List<Map<String, Object>> mappedFlights = new ArrayList<>(mappedFlightsCache.get(cacheKey));
-        int totalCount = cacheCountByKey.get(cacheKey);
-        sortingUtils.applySorting(mappedFlights, sortBy, order);
-        List<Map<String, Object>> paginatedList = paginationUtils.applyPagination(mappedFlights, page, size);
+        GeneralResponse merged = new GeneralResponse();
+        merged.setData(offers);
+        merged.setDictionaries(mergeDictionaries(parts));
+        return new CachedSearch(key, merged, flights, sortingUtils.buildSortIndex(flights), fetchedAt);
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("counter", totalCount);
+    /**
+     * Identifies the flights of an offer by carrier, flight number and departure time of
+     * every segment; offers without itineraries only match themselves.
+     */
+    private static String itinerarySignature(FlightOffer offer, String fallback) {
+        if (offer.getItineraries() == null || offer.getItineraries().isEmpty()) {
+            return "offer:" + fallback;
+        }
+        StringBuilder signature = new StringBuilder();
+        for (Itinerary itinerary : offer.getItineraries()) {
+            if (itinerary.getSegments() != null) {
+                for (Segment segment : itinerary.getSegments()) {
+                    signature.append(segment.getCarrierCode()).append(segment.getNumber()).append('@')
+                            .append(segment.getDeparture() != null ? segment.getDeparture().getAt() : null)
+                            .append(';');
+                }
+            }
+            signature.append('/');
+        }
+        return signature.toString();
+    }
+
+    private static Dictionaries mergeDictionaries(List<CachedSearch> parts) {
+        Dictionaries merged = new Dictionaries();
+        merged.setLocations(new HashMap<>());
+        merged.setAircraft(new HashMap<>());
+        merged.setCurrencies(new HashMap<>());
+        merged.setCarriers(new HashMap<>());
+        for (CachedSearch part : parts) {
+            Dictionaries dictionaries = part.getDictionaries();
+            if (dictionaries == null) continue;
+            if (dictionaries.getLocations() != null) merged.getLocations().putAll(dictionaries.getLocations());
+            if (dictionaries.getAircraft() != null) merged.getAircraft().putAll(dictionaries.getAircraft());
+            if (dictionaries.getCurrencies() != null) merged.getCurrencies().putAll(dictionaries.getCurrencies());
+            if (dictionaries.getCarriers() != null) merged.getCarriers().putAll(dictionaries.getCarriers());
+        }
+        return merged;
+    }
+
+    /**
+     * Builds the response of one result page: the filtered, sorted, paginated flights plus
+     * the "counter", "facets", "searchId", "freshness" and "fetchedAt" of the search, and a
+     * "nextCursor" if more results follow.
+     * Facets always cover the unfiltered results, so a sidebar keeps showing every option.
+     */
+    static Map<String, Object> buildResultPage(
+            CachedSearch search,
+            boolean fresh,
+            PaginationUtils paginationUtils,
+            SearchMetrics searchMetrics,
+            FlightFilter filter,
+            String sortBy,
+            String order,
+            int page,
+            int size
+    ) {
+        return buildPage(
+                search, fresh, paginationUtils, searchMetrics,
+                filter, sortBy, order, paginationUtils.offset(page, size), size);
+    }
+
+    /**
+     * Builds the result page a cursor points to. The page comes from the snapshot the
+     * cursor was issued for, even if the search has been refreshed since, so consecutive
+     * pages never shift, repeat or skip results.
+     *
+     * @param cursor cursor returned as "nextCursor" by an earlier page
+     * @param key cache key of the requested search, which must be the key of the snapshot
+     * @throws ResponseStatusException 400 if the cursor is malformed or was issued for
+     *         another search, sort or filter; 410 if its snapshot is no longer kept
+     */
+    static Map<String, Object> buildCursorPage(
+            SearchResultCache searchResultCache,
+            PaginationUtils paginationUtils,
+            SearchMetrics searchMetrics,
+            String cursor,
+            String key,
+            FlightFilter filter,
+            String sortBy,
+            String order,
+            int size
+    ) {
+        PageCursor pageCursor;
+        try {
+            pageCursor = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+        if (!pageCursor.matches(sortBy, order, filter)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor was issued for another sort or filter");
+        }
+        CachedSearch snapshot = searchResultCache.getBySearchId(pageCursor.searchId());
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.GONE, "The results behind this cursor have expired");
+        }
+        if (!snapshot.getKey().equals(key)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor was issued for another search");
+        }
+        return buildPage(
+                snapshot, searchResultCache.isFresh(snapshot), paginationUtils, searchMetrics,
+                filter, sortBy, order, pageCursor.offset(), size);
+    }
+
+    /**
+     * Builds the page of size results starting at offset. Unfiltered pages read a sorted
+     * prefix of the sort index; filtered pages read the memoized filtered view of the filter
+     * index. Either way, once built, any page costs O(size) regardless of its depth.
+     */
+    private static Map<String, Object> buildPage(
+            CachedSearch search,
+            boolean fresh,
+            PaginationUtils paginationUtils,
+            SearchMetrics searchMetrics,
+            FlightFilter filter,
+            String sortBy,
+            String order,
+            int offset,
+            int size
+    ) {
+        SortIndex sortIndex = search.getSortIndex();
+        int pageEnd = (int) Math.min((long) offset + paginationUtils.pageSize(size), Integer.MAX_VALUE);
+        boolean filtered = filter != null && !filter.isEmpty();
+        int[] positions;
+        int available;
+        int counter;
+        long start = System.nanoTime();
+        if (filtered) {
+            positions = search.getFilterIndex().view(filter, sortIndex, sortBy, order);
+            searchMetrics.record(SearchStage.FILTERING, start);
+            available = positions.length;
+            counter = positions.length;
+        } else {
+            if (sortIndex.keysFor(sortBy) != null) {
+                boolean sorted = sortIndex.hasSortedPrefix(sortBy, order, pageEnd);
+                searchMetrics.cacheLookup(SearchMetrics.SORTED_RESULTS_CACHE, sorted);
+            }
+            positions = sortIndex.sortedPrefix(sortBy, order, pageEnd);
+            searchMetrics.record(SearchStage.SORTING, start);
+            available = search.getMappedFlights().size();
+            counter = search.getCount();
+        }
+
+        start = System.nanoTime();
+        List<FlightSummary> paginatedList =
+                paginationUtils.applyOffset(search.getMappedFlights(), positions, offset, size);
+        searchMetrics.record(SearchStage.PAGINATION, start);
+
+        Map<String, Object> response = buildResponse(search, fresh, counter, paginatedList);
+        if (pageEnd < available) {
+            response.put("nextCursor",
+                    PageCursor.of(search.getSearchId(), sortBy, order, filter, pageEnd).encode());
+        }
+        return response;
+    }
+
+    private static Map<String, Object> buildResponse(
+            CachedSearch search,
+            boolean fresh,
+            int counter,
+            List<FlightSummary> paginatedList
+    ) {
+        Map<String, Object> response = buildSummary(search, fresh);
+        response.put("counter", counter);
         response.put("data", paginatedList);
         return response;
     }
 
     /**
-     * Retrieves a single flight offer in a detailed format from cached data,
-     * identified by the flightOfferId.
+     * Builds the fields that describe a search as a whole: "facets", "searchId",
+     * "freshness" and "fetchedAt".
+     */
+    static Map<String, Object> buildSummary(CachedSearch search, boolean fresh) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("facets", search.getFacets());
+        summary.put("searchId", search.getSearchId());
+        summary.put("freshness", fresh ? Freshness.FRESH : Freshness.STALE);
+        summary.put("fetchedAt", search.getFetchedAt().toString());
+        return summary;
+    }
+
+    /**
+     * Retrieves a single flight offer in a detailed format from the results of the most
+     * recent search. Kept for clients that do not send a search ID; concurrent users should
+     * call {@link #getDetailedFlightOption(String, String)} instead.
      *
      * @param flightOfferId the ID of the flight offer to fetch
-     * @return a map with detailed flight information, or null if not found
+     * @return detailed flight information, or null if not found
      */
-    public Map<String, Object> getDetailedFlightOption(String flightOfferId) throws JsonProcessingException {
-        if (!flightOffersCache.containsKey(cacheKey) || !dictionariesCache.containsKey(cacheKey)) {
+    public FlightDetail getDetailedFlightOption(String flightOfferId) throws JsonProcessingException {
+        return getDetailedFlightOption(lastSearchId, flightOfferId);
+    }
+
+    /**
+     * Retrieves a single flight offer in a detailed format from the cached results of the
+     * given search, identified by the flightOfferId.
+     *
+     * @param searchId the search ID returned by the flight search
+     * @param flightOfferId the ID of the flight offer to fetch
+     * @return detailed flight information, or null if not found
+     */
+    public FlightDetail getDetailedFlightOption(String searchId, String flightOfferId)
+            throws JsonProcessingException {
+        CachedSearch search = searchResultCache.getBySearchId(searchId);
+        if (search == null) {
             return null;
         }
-        List<FlightOffer> offers = flightOffersCache.get(cacheKey);
-        Dictionaries dictionaries = dictionariesCache.get(cacheKey);
-
-        Optional<FlightOffer> maybeOffer = offers.stream()
-                .filter(o -> String.valueOf(o.getId()).equals(flightOfferId))
-                .findFirst();
-        if (maybeOffer.isEmpty()) {
+        FlightOffer offer = search.findOffer(flightOfferId);
+        if (offer == null) {
             return null;
         }
-        return flightOfferDetailMapper.buildDetailedFlightOption(maybeOffer.get(), dictionaries);
+        long start = System.nanoTime();
+        FlightDetail detail = flightOfferDetailMapper.buildDetailedFlightOption(offer, search.getDictionaries());
+        searchMetrics.record(SearchStage.DETAIL_MAPPING, start);
+        return detail;
     }
 }
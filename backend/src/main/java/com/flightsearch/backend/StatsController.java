@@ -0,0 +1,94 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.cache.CacheStats;
+import com.flightsearch.backend.cache.CoalescingStats;
+import com.flightsearch.backend.cache.InFlightSearchRegistry;
+import com.flightsearch.backend.cache.SearchResultCache;
+import com.flightsearch.backend.client.CircuitBreaker;
+import com.flightsearch.backend.client.CircuitBreakerStats;
+import com.flightsearch.backend.client.UpstreamLimiters;
+import com.flightsearch.backend.client.UpstreamStats;
+import com.flightsearch.backend.http.HttpClientMetrics;
+import com.flightsearch.backend.http.HttpClientStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/stats")
+public class StatsController {
+
+    private final SearchResultCache searchResultCache;
+    private final InFlightSearchRegistry inFlightSearchRegistry;
+    private final UpstreamLimiters upstreamLimiters;
+    private final CircuitBreaker circuitBreaker;
+    private final HttpClientMetrics httpClientMetrics;
+
+    /**
+     * StatsController exposes operational counters of the search backend.
+     *
+     * @param searchResultCache the search result cache to report on
+     * @param inFlightSearchRegistry the in-flight search registry to report on
+     * @param upstreamLimiters the Amadeus endpoint limiters to report on
+     * @param circuitBreaker the Amadeus circuit breaker to report on
+     * @param httpClientMetrics the upstream HTTP client counters to report on
+     */
+    @Autowired
+    public StatsController(
+            SearchResultCache searchResultCache,
+            InFlightSearchRegistry inFlightSearchRegistry,
+            UpstreamLimiters upstreamLimiters,
+            CircuitBreaker circuitBreaker,
+            HttpClientMetrics httpClientMetrics
+    ) {
+        this.searchResultCache = searchResultCache;
+        this.inFlightSearchRegistry = inFlightSearchRegistry;
+        this.upstreamLimiters = upstreamLimiters;
+        this.circuitBreaker = circuitBreaker;
+        this.httpClientMetrics = httpClientMetrics;
+    }
+
+    /**
+     * Retrieves hit/miss/eviction counters and the current size of the search result cache.
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return ResponseEntity.ok(searchResultCache.getStats());
+    }
+
+    /**
+     * Retrieves how many searches joined an already running upstream load.
+     */
+    @GetMapping("/inflight")
+    public ResponseEntity<CoalescingStats> getCoalescingStats() {
+        return ResponseEntity.ok(inFlightSearchRegistry.getStats());
+    }
+
+    /**
+     * Retrieves queue depth, concurrency limit and rejection counters of each Amadeus endpoint.
+     */
+    @GetMapping("/upstream")
+    public ResponseEntity<Map<String, UpstreamStats>> getUpstreamStats() {
+        return ResponseEntity.ok(upstreamLimiters.getStats());
+    }
+
+    /**
+     * Retrieves the state of the circuit breaker in front of the Amadeus flight search.
+     */
+    @GetMapping("/circuit")
+    public ResponseEntity<CircuitBreakerStats> getCircuitBreakerStats() {
+        return ResponseEntity.ok(circuitBreaker.getStats());
+    }
+
+    /**
+     * Retrieves in-flight, completed, failed and timed-out exchanges of the upstream HTTP client.
+     */
+    @GetMapping("/http")
+    public ResponseEntity<HttpClientStats> getHttpClientStats() {
+        return ResponseEntity.ok(httpClientMetrics.getStats());
+    }
+}
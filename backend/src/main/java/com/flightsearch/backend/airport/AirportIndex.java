@@ -0,0 +1,230 @@
+package com.flightsearch.backend.airport;
+
+import com.flightsearch.backend.model.Airport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Component
+public class AirportIndex {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "airport", "international", "intl", "de", "del", "la", "el", "da", "do", "the"
+    );
+    private static final int SCORE_CODE = 0;
+    private static final int SCORE_EXACT = 1;
+    private static final int SCORE_PREFIX = 2;
+
+    private final int[] packedCodes;
+    private final String[] codes;
+    private final String[] names;
+    private final String[] cities;
+    private final int[] ranks;
+    private final String[] searchKeys;
+    private final int[] searchKeyAirports;
+
+    /**
+     * AirportIndex is an in-memory airport directory loaded once at startup from a bundled
+     * CSV file (iata,name,city,country). Airports are stored in parallel arrays sorted by a
+     * packed IATA code, and keywords are matched against a sorted array of normalized
+     * name/city tokens, so lookups are binary searches without per-entry objects.
+     *
+     * @param dataFile classpath location of the airport data file
+     */
+    public AirportIndex(@Value("${airports.data_file:airports.csv}") String dataFile) {
+        List<String[]> rows = readRows(dataFile);
+        int size = rows.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(i -> packCode(rows.get(i)[0])));
+
+        this.packedCodes = new int[size];
+        this.codes = new String[size];
+        this.names = new String[size];
+        this.cities = new String[size];
+        this.ranks = new int[size];
+        for (int i = 0; i < size; i++) {
+            String[] row = rows.get(order[i]);
+            packedCodes[i] = packCode(row[0]);
+            codes[i] = row[0];
+            names[i] = row[1];
+            cities[i] = row[2];
+            ranks[i] = order[i];
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<Integer> keyAirports = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (String key : searchKeysOf(i)) {
+                keys.add(key);
+                keyAirports.add(i);
+            }
+        }
+        Integer[] keyOrder = new Integer[keys.size()];
+        for (int i = 0; i < keyOrder.length; i++) keyOrder[i] = i;
+        Arrays.sort(keyOrder, Comparator.comparing(keys::get));
+        this.searchKeys = new String[keyOrder.length];
+        this.searchKeyAirports = new int[keyOrder.length];
+        for (int i = 0; i < keyOrder.length; i++) {
+            searchKeys[i] = keys.get(keyOrder[i]);
+            searchKeyAirports[i] = keyAirports.get(keyOrder[i]);
+        }
+    }
+
+    /**
+     * @return the number of airports in the index
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * Returns the name of the airport with the given IATA code.
+     *
+     * @param airportCode the IATA code
+     * @return the airport name, or null if the code is not in the index
+     */
+    public String findName(String airportCode) {
+        int position = positionOf(airportCode);
+        return position >= 0 ? names[position] : null;
+    }
+
+    /**
+     * Returns the IATA code that best matches a keyword (code, city or airport name prefix).
+     *
+     * @param keyword the airport keyword
+     * @return the best matching IATA code, or null if nothing matches
+     */
+    public String findCode(String keyword) {
+        List<Airport> matches = search(keyword, 1);
+        return matches.isEmpty() ? null : matches.getFirst().getIataCode();
+    }
+
+    /**
+     * Finds airports matching a keyword. An exact IATA code wins, then exact city/name/word
+     * matches, then prefix matches; ties keep the order of the data file, which lists the
+     * main airport of each city first.
+     *
+     * @param keyword the airport keyword
+     * @param limit maximum number of airports returned
+     * @return matching airports, best match first
+     */
+    public List<Airport> search(String keyword, int limit) {
+        String query = normalize(keyword);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] scores = new int[codes.length];
+        Arrays.fill(scores, Integer.MAX_VALUE);
+
+        int exactCode = positionOf(keyword.trim());
+        if (exactCode >= 0) {
+            scores[exactCode] = SCORE_CODE;
+        }
+        for (int i = lowerBound(query); i < searchKeys.length && searchKeys[i].startsWith(query); i++) {
+            int airport = searchKeyAirports[i];
+            int score = searchKeys[i].length() == query.length() ? SCORE_EXACT : SCORE_PREFIX;
+            scores[airport] = Math.min(scores[airport], score);
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] != Integer.MAX_VALUE) matches.add(i);
+        }
+        matches.sort(Comparator.<Integer>comparingInt(i -> scores[i]).thenComparingInt(i -> ranks[i]));
+
+        List<Airport> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, matches.size()); i++) {
+            Airport airport = new Airport();
+            airport.setIataCode(codes[matches.get(i)]);
+            airport.setName(names[matches.get(i)]);
+            result.add(airport);
+        }
+        return result;
+    }
+
+    private int positionOf(String airportCode) {
+        int packed = packCode(airportCode);
+        return packed < 0 ? -1 : Math.max(-1, Arrays.binarySearch(packedCodes, packed));
+    }
+
+    private int lowerBound(String query) {
+        int low = 0;
+        int high = searchKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (searchKeys[mid].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<String> searchKeysOf(int airport) {
+        List<String> keys = new ArrayList<>();
+        String city = normalize(cities[airport]);
+        String name = normalize(names[airport]);
+        keys.add(codes[airport].toLowerCase(Locale.ROOT));
+        keys.add(city);
+        keys.add(name);
+        for (String word : (city + " " + name).split(" ")) {
+            if (word.length() > 1 && !STOP_WORDS.contains(word) && !keys.contains(word)) {
+                keys.add(word);
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    /**
+     * Packs a three-letter IATA code into an int (5 bits per letter), or -1 if it is not one.
+     */
+    private static int packCode(String airportCode) {
+        if (airportCode == null || airportCode.length() != 3) return -1;
+        int packed = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = Character.toUpperCase(airportCode.charAt(i));
+            if (c < 'A' || c > 'Z') return -1;
+            packed = (packed << 5) | (c - 'A');
+        }
+        return packed;
+    }
+
+    private static List<String[]> readRows(String dataFile) {
+        InputStream input = AirportIndex.class.getClassLoader().getResourceAsStream(dataFile);
+        if (input == null) {
+            throw new RuntimeException("Airport data file not found: " + dataFile);
+        }
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",", -1);
+                if (columns.length != 4 || packCode(columns[0]) < 0) continue;
+                rows.add(columns);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read airport data file: " + dataFile, e);
+        }
+        return rows;
+    }
+}
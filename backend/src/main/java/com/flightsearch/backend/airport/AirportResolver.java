@@ -0,0 +1,289 @@
+package com.flightsearch.backend.airport;
+
+import com.flightsearch.backend.client.AirportNotFoundException;
+import com.flightsearch.backend.client.AmadeusClient;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.Airport;
+import com.flightsearch.backend.model.flightoptions.Dictionaries;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.flightoptions.Itinerary;
+import com.flightsearch.backend.model.flightoptions.Segment;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class AirportResolver {
+
+    private final AmadeusClient amadeusClient;
+    private final AirportIndex airportIndex;
+    private final Executor upstreamExecutor;
+    private final SearchMetrics searchMetrics;
+    private final Semaphore lookupPermits;
+    private final long prefetchTimeoutMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, String> airportNames = new ConcurrentHashMap<>();
+    private final Map<String, String> keywordCodes = new ConcurrentHashMap<>();
+    private final Map<String, Long> unresolvedUntil = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> pendingLookups = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> cityAirports = new ConcurrentHashMap<>();
+
+    /**
+     * AirportResolver turns airport keywords into IATA codes and IATA codes into airport
+     * names. The bundled AirportIndex is consulted first; Amadeus is only called on a miss,
+     * and both found and not-found answers are cached; failed calls (timeouts, rejections,
+     * an open circuit) are not, so they are retried by the next request. Names are resolved in bulk before
+     * mapping, so mapping itself never calls Amadeus.
+     *
+     * @param amadeusClient used for airports missing from the local index
+     * @param airportIndex local airport directory loaded at startup
+     * @param upstreamExecutor executor for concurrent upstream calls
+     * @param searchMetrics counter of airport name cache lookups
+     * @param prefetchConcurrency maximum number of airport lookups running at once
+     * @param prefetchTimeoutMillis how long a prefetch waits for its lookups
+     * @param negativeTtlSeconds how long an airport that could not be resolved is not retried
+     */
+    public AirportResolver(
+            AmadeusClient amadeusClient,
+            AirportIndex airportIndex,
+            @Qualifier("upstreamExecutor") Executor upstreamExecutor,
+            SearchMetrics searchMetrics,
+            @Value("${airports.prefetch_concurrency:8}") int prefetchConcurrency,
+            @Value("${airports.prefetch_timeout_ms:5000}") long prefetchTimeoutMillis,
+            @Value("${airports.negative_ttl_seconds:3600}") long negativeTtlSeconds
+    ) {
+        this.amadeusClient = amadeusClient;
+        this.airportIndex = airportIndex;
+        this.upstreamExecutor = upstreamExecutor;
+        this.searchMetrics = searchMetrics;
+        this.lookupPermits = new Semaphore(prefetchConcurrency);
+        this.prefetchTimeoutMillis = prefetchTimeoutMillis;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000;
+    }
+
+    /**
+     * Collects the distinct airport codes referenced by a flight search response, from both
+     * the segments and the locations dictionary.
+     *
+     * @param response the Amadeus flight offers response
+     * @return distinct IATA codes in the order they were found
+     */
+    public static Set<String> collectAirportCodes(GeneralResponse response) {
+        Set<String> codes = new LinkedHashSet<>();
+        if (response.getData() != null) {
+            for (FlightOffer offer : response.getData()) {
+                if (offer.getItineraries() == null) continue;
+                for (Itinerary itinerary : offer.getItineraries()) {
+                    if (itinerary.getSegments() == null) continue;
+                    for (Segment segment : itinerary.getSegments()) {
+                        if (segment.getDeparture() != null) codes.add(segment.getDeparture().getIataCode());
+                        if (segment.getArrival() != null) codes.add(segment.getArrival().getIataCode());
+                    }
+                }
+            }
+        }
+        if (response.getDictionaries() != null && response.getDictionaries().getLocations() != null) {
+            codes.addAll(response.getDictionaries().getLocations().keySet());
+        }
+        codes.remove(null);
+        return codes;
+    }
+
+    /**
+     * Resolves the names of all given airports that are not known yet, in one parallel batch
+     * with bounded concurrency. Lookups that fail or do not finish in time are skipped; the
+     * mappers then fall back to the airport code.
+     *
+     * @param airportCodes the IATA codes to warm up
+     */
+    public void prefetch(Collection<String> airportCodes) {
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+        for (String airportCode : airportCodes) {
+            boolean known = isKnownOrUnresolved(airportCode);
+            searchMetrics.cacheLookup(SearchMetrics.AIRPORT_NAMES_CACHE, known);
+            if (known) continue;
+            CompletableFuture<Void> created = new CompletableFuture<>();
+            CompletableFuture<Void> pending = pendingLookups.putIfAbsent(airportCode, created);
+            if (pending != null) {
+                lookups.add(pending);
+                continue;
+            }
+            lookups.add(created);
+            upstreamExecutor.execute(() -> {
+                try {
+                    lookup(airportCode);
+                } finally {
+                    pendingLookups.remove(airportCode, created);
+                    created.complete(null);
+                }
+            });
+        }
+        if (lookups.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0]))
+                    .get(prefetchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Missing names fall back to the airport code.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Remembers which airports belong to which city, from the locations dictionary of a
+     * flight search response, so city codes can later be expanded into their airports.
+     *
+     * @param dictionaries the dictionaries of an Amadeus flight offers response
+     */
+    public void recordCities(Dictionaries dictionaries) {
+        if (dictionaries == null || dictionaries.getLocations() == null) {
+            return;
+        }
+        dictionaries.getLocations().forEach((airportCode, location) -> {
+            if (location != null && location.getCityCode() != null) {
+                cityAirports.computeIfAbsent(location.getCityCode(), ignored -> ConcurrentHashMap.newKeySet())
+                        .add(airportCode);
+            }
+        });
+    }
+
+    /**
+     * Returns the airports seen so far for a city code with several airports (e.g. JFK, LGA
+     * and EWR for NYC). Codes that are airports themselves are never expanded, even when a
+     * city shares the code of its main airport.
+     *
+     * @param cityCode the IATA city code
+     * @return the airport codes in alphabetical order, or an empty list if the code should
+     *         be searched as it is
+     */
+    public List<String> findCityAirports(String cityCode) {
+        Set<String> airports = cityAirports.get(cityCode);
+        if (airports == null || airports.size() < 2 || airports.contains(cityCode)
+                || airportIndex.findName(cityCode) != null || airportNames.containsKey(cityCode)) {
+            return List.of();
+        }
+        return List.copyOf(new TreeSet<>(airports));
+    }
+
+    /**
+     * Returns the name of an airport from the local index or the cache, or the code itself
+     * if it is unknown. Never calls Amadeus.
+     *
+     * @param airportCode the IATA code
+     * @return the airport name, or the code if it was not resolved
+     */
+    public String getName(String airportCode) {
+        String indexedName = airportIndex.findName(airportCode);
+        if (indexedName != null) {
+            return indexedName;
+        }
+        return airportNames.getOrDefault(airportCode, airportCode);
+    }
+
+    /**
+     * Returns the IATA code for a keyword if it can be answered without calling Amadeus,
+     * from the local index or from an earlier lookup.
+     *
+     * @param airportKeyword the airport keyword
+     * @return the IATA code, or null if it is not known locally
+     */
+    public String findKnownCode(String airportKeyword) {
+        String indexedCode = airportIndex.findCode(airportKeyword);
+        if (indexedCode != null) {
+            return indexedCode;
+        }
+        return keywordCodes.get(keywordKey(airportKeyword));
+    }
+
+    /**
+     * Resolves a keyword to an IATA code, consulting the local index and the cache first and
+     * Amadeus only on a miss. Keywords Amadeus reported as unknown are not retried until the
+     * negative TTL elapses; any other failure is rethrown without being remembered.
+     *
+     * @param airportKeyword the airport keyword
+     * @return the IATA code of the first matching airport
+     */
+    public String resolveCode(String airportKeyword) {
+        String knownCode = findKnownCode(airportKeyword);
+        if (knownCode != null) {
+            return knownCode;
+        }
+        String key = keywordKey(airportKeyword);
+        if (isUnresolved(key)) {
+            throw new AirportNotFoundException("No airport data returned for keyword: " + airportKeyword);
+        }
+        try {
+            Airport airport = amadeusClient.fetchAirport(airportKeyword);
+            keywordCodes.put(key, airport.getIataCode());
+            airportNames.putIfAbsent(airport.getIataCode(), airport.getName());
+            return airport.getIataCode();
+        } catch (AirportNotFoundException e) {
+            markUnresolved(key);
+            throw e;
+        }
+    }
+
+    private boolean isKnownOrUnresolved(String airportCode) {
+        return airportIndex.findName(airportCode) != null
+                || airportNames.containsKey(airportCode)
+                || isUnresolved(airportCode);
+    }
+
+    private boolean isUnresolved(String key) {
+        Long until = unresolvedUntil.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            unresolvedUntil.remove(key, until);
+            return false;
+        }
+        return true;
+    }
+
+    private void markUnresolved(String key) {
+        unresolvedUntil.put(key, System.currentTimeMillis() + negativeTtlMillis);
+    }
+
+    private static String keywordKey(String airportKeyword) {
+        return "keyword:" + airportKeyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void lookup(String airportCode) {
+        try {
+            lookupPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            Airport airport = amadeusClient.fetchAirport(airportCode);
+            airportNames.put(airportCode, airport.getName());
+        } catch (AirportNotFoundException e) {
+            markUnresolved(airportCode);
+        } catch (RuntimeException e) {
+            // Transient failure: the name falls back to the code and is looked up again next time.
+        } finally {
+            lookupPermits.release();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.flightsearch.backend.cache;
+
+/**
+ * Point-in-time snapshot of the search result cache counters.
+ *
+ * @param hits lookups served from the cache
+ * @param misses lookups that found no live entry
+ * @param evictions entries removed to respect the size limits
+ * @param expirations entries removed because their TTL elapsed
+ * @param entries entries currently held
+ * @param estimatedBytes estimated heap footprint of the held entries
+ */
+public record CacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        long expirations,
+        int entries,
+        long estimatedBytes
+) {
+    /**
+     * @return hits divided by total lookups, or 0 when there were no lookups
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,125 @@
+package com.flightsearch.backend.cache;
+
+import com.flightsearch.backend.model.flightoptions.Dictionaries;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.flightoptions.Itinerary;
+import com.flightsearch.backend.model.flightoptions.TravelerPricing;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.model.response.SearchFacets;
+import com.flightsearch.backend.utils.FacetAggregator;
+import com.flightsearch.backend.utils.FilterIndex;
+import com.flightsearch.backend.utils.SortIndex;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+public class CachedSearch {
+
+    private static final long BASE_BYTES = 1024;
+    private static final long OFFER_BYTES = 1200;
+    private static final long ITINERARY_BYTES = 900;
+    private static final long SEGMENT_BYTES = 1100;
+    private static final long FARE_DETAIL_BYTES = 450;
+
+    private final String searchId;
+    private final String key;
+    private final List<FlightOffer> offers;
+    private final Map<String, FlightOffer> offersById;
+    private final Dictionaries dictionaries;
+    private final int count;
+    private final List<FlightSummary> mappedFlights;
+    private final SortIndex sortIndex;
+    private final FilterIndex filterIndex;
+    private final SearchFacets facets;
+    private final Instant fetchedAt;
+    private final long estimatedBytes;
+
+    /**
+     * Single cache entry for one search: the raw Amadeus offers and dictionaries (needed for
+     * detail lookups) together with the already mapped essential flight list. Each entry
+     * gets its own search ID and an id-to-offer index so detail lookups are O(1), and a
+     * filter index so filtered page requests never walk the flights themselves. The facets
+     * are aggregated here too, once per entry, and shared by every page request.
+     *
+     * @param key the normalized search key
+     * @param response the Amadeus response the entry was built from
+     * @param mappedFlights essential flight list built from the response
+     * @param sortIndex precomputed sort keys of the mapped flights
+     * @param fetchedAt instant the fares were fetched from Amadeus
+     */
+    public CachedSearch(
+            String key,
+            GeneralResponse response,
+            List<FlightSummary> mappedFlights,
+            SortIndex sortIndex,
+            Instant fetchedAt
+    ) {
+        this.searchId = UUID.randomUUID().toString();
+        this.key = key;
+        this.offers = response.getData() != null
+                ? Collections.unmodifiableList(response.getData())
+                : Collections.emptyList();
+        this.offersById = indexById(offers);
+        this.dictionaries = response.getDictionaries();
+        this.count = response.getMeta() != null ? response.getMeta().getCount() : offers.size();
+        this.mappedFlights = Collections.unmodifiableList(mappedFlights);
+        this.sortIndex = sortIndex;
+        this.filterIndex = FilterIndex.build(this.mappedFlights, sortIndex);
+        this.facets = FacetAggregator.aggregate(this.mappedFlights, sortIndex, dictionaries);
+        this.fetchedAt = fetchedAt;
+        this.estimatedBytes = estimateBytes(offers) + filterIndex.maxViewBytes();
+    }
+
+    /**
+     * Returns the offer with the given ID from this search.
+     *
+     * @param flightOfferId the flight offer ID
+     * @return the offer, or null if this search has no offer with that ID
+     */
+    public FlightOffer findOffer(String flightOfferId) {
+        return offersById.get(flightOfferId);
+    }
+
+    private static Map<String, FlightOffer> indexById(List<FlightOffer> offers) {
+        Map<String, FlightOffer> index = new HashMap<>(offers.size() * 2);
+        for (FlightOffer offer : offers) {
+            index.putIfAbsent(String.valueOf(offer.getId()), offer);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Rough heap estimate of the entry, based on the number of offers, itineraries,
+     * segments and fare details it holds (raw model plus mapped view). The memoized filter
+     * views are added on top at their maximum.
+     */
+    private static long estimateBytes(List<FlightOffer> offers) {
+        long bytes = BASE_BYTES;
+        for (FlightOffer offer : offers) {
+            bytes += OFFER_BYTES;
+            if (offer.getItineraries() != null) {
+                for (Itinerary itinerary : offer.getItineraries()) {
+                    bytes += ITINERARY_BYTES;
+                    if (itinerary.getSegments() != null) {
+                        bytes += SEGMENT_BYTES * itinerary.getSegments().size();
+                    }
+                }
+            }
+            if (offer.getTravelerPricings() != null) {
+                for (TravelerPricing pricing : offer.getTravelerPricings()) {
+                    if (pricing.getFareDetailsBySegment() != null) {
+                        bytes += FARE_DETAIL_BYTES * pricing.getFareDetailsBySegment().size();
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.flightsearch.backend.cache;
+
+/**
+ * Point-in-time snapshot of the in-flight search registry counters.
+ *
+ * @param inFlight searches currently being loaded
+ * @param leaders requests that ran the upstream pipeline themselves
+ * @param coalesced requests that joined an already running load instead
+ * @param timeouts joined requests that gave up waiting
+ * @param backgroundRefreshes loads started to refresh a stale entry
+ */
+public record CoalescingStats(
+        int inFlight,
+        long leaders,
+        long coalesced,
+        long timeouts,
+        long backgroundRefreshes
+) {
+}
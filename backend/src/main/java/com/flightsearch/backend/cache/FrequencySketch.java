@@ -0,0 +1,78 @@
+package com.flightsearch.backend.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final long sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+
+    /**
+     * Approximate, thread-safe access-frequency counter (count-min sketch) used to rank
+     * cache entries for eviction. Counters are halved periodically so that popularity
+     * decays over time and old hot keys do not stay resident forever.
+     *
+     * @param expectedEntries the expected number of distinct keys held by the cache
+     */
+    public FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries * 4) - 1) << 1;
+        this.counters = new AtomicIntegerArray(width * DEPTH);
+        this.mask = width - 1;
+        this.sampleSize = 10L * Math.max(16, expectedEntries);
+    }
+
+    /**
+     * Records one access of the given key.
+     *
+     * @param key the accessed key
+     */
+    public void increment(String key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            counters.incrementAndGet(indexOf(hash, row));
+        }
+        if (additions.incrementAndGet() % sampleSize == 0) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent accesses of the given key.
+     *
+     * @param key the key to look up
+     * @return the estimated access frequency
+     */
+    public int frequency(String key) {
+        int hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(indexOf(hash, row)));
+        }
+        return min;
+    }
+
+    private void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x45D9F3B;
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xED5AD4BB;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
@@ -0,0 +1,10 @@
+package com.flightsearch.backend.cache;
+
+/**
+ * Whether served fares are within the cache TTL (FRESH) or older and being refreshed in
+ * the background (STALE).
+ */
+public enum Freshness {
+    FRESH,
+    STALE
+}
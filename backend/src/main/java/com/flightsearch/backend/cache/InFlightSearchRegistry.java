@@ -0,0 +1,124 @@
+package com.flightsearch.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class InFlightSearchRegistry {
+
+    private final Duration timeout;
+    private final Map<String, CompletableFuture<CachedSearch>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder backgroundRefreshes = new LongAdder();
+
+    /**
+     * InFlightSearchRegistry makes identical concurrent searches share one upstream load.
+     * The first caller for a key runs the loader; callers arriving while it runs wait on
+     * the same future instead of calling Amadeus again.
+     *
+     * @param timeoutMillis how long a joined caller waits for the shared load
+     */
+    public InFlightSearchRegistry(@Value("${search.coalesce_timeout_ms:30000}") long timeoutMillis) {
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    /**
+     * Runs the loader for the given key, or waits for the load already running for it.
+     *
+     * @param key the normalized search key
+     * @param loader the fetch, parse and map pipeline for the key
+     * @return the loaded search
+     * @throws JsonProcessingException if the shared load failed to parse the response
+     */
+    public CachedSearch execute(String key, SearchLoader loader) throws JsonProcessingException {
+        CompletableFuture<CachedSearch> created = new CompletableFuture<>();
+        CompletableFuture<CachedSearch> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing);
+        }
+
+        leaders.increment();
+        try {
+            CachedSearch search = loader.load();
+            created.complete(search);
+            return search;
+        } catch (JsonProcessingException | RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Starts a load for the given key on the executor unless one is already running, without
+     * waiting for it. Used to refresh stale entries while they keep being served; a failed
+     * refresh leaves the stale entry in place.
+     *
+     * @param key the normalized search key
+     * @param loader the fetch, parse and map pipeline for the key
+     * @param executor executor running the load
+     */
+    public void refreshInBackground(String key, SearchLoader loader, Executor executor) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        backgroundRefreshes.increment();
+        executor.execute(() -> {
+            try {
+                execute(key, loader);
+            } catch (JsonProcessingException | RuntimeException ignored) {
+                // the stale entry is served until the next attempt or its hard TTL
+            }
+        });
+    }
+
+    /**
+     * @return a snapshot of the registry counters
+     */
+    public CoalescingStats getStats() {
+        return new CoalescingStats(
+                inFlight.size(),
+                leaders.sum(),
+                coalesced.sum(),
+                timeouts.sum(),
+                backgroundRefreshes.sum()
+        );
+    }
+
+    private CachedSearch await(String key, CompletableFuture<CachedSearch> future)
+            throws JsonProcessingException {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new RuntimeException("Timed out waiting for in-flight search: " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for in-flight search: " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JsonProcessingException jsonProcessingException) {
+                throw jsonProcessingException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
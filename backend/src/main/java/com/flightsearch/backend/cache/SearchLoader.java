@@ -0,0 +1,11 @@
+package com.flightsearch.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Runs the fetch, parse and map pipeline for one search key.
+ */
+@FunctionalInterface
+public interface SearchLoader {
+    CachedSearch load() throws JsonProcessingException;
+}
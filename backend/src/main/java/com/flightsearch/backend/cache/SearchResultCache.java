@@ -0,0 +1,309 @@
+package com.flightsearch.backend.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class SearchResultCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Duration hardTtl;
+    private final Duration snapshotRetention;
+    private final Duration partialRetention;
+    private final Clock clock;
+    private final Map<String, CachedSearch> entries = new ConcurrentHashMap<>();
+    private final Map<String, CachedSearch> entriesBySearchId = new ConcurrentHashMap<>();
+    private final Map<String, RetiredSnapshot> retiredBySearchId = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final AtomicLong retiredBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * SearchResultCache holds one entry per search key. Reads are lock-free; inserts evict
+     * expired entries first and then the least frequently used ones until both the entry
+     * and the estimated byte limits are respected. Entries past the (soft) TTL are stale
+     * but still served until the hard TTL, so callers can answer from them while a fresh
+     * copy is loaded. An entry replaced by a refresh stays reachable by its search ID for
+     * a while, so pages and details of results a client is still browsing keep working;
+     * these retired snapshots count towards the byte limit and are dropped first. Partial
+     * results are kept the same way, reachable only by search ID and for a shorter time.
+     *
+     * @param maxEntries maximum number of searches kept
+     * @param maxBytes maximum estimated heap footprint of all entries
+     * @param ttlSeconds how long fetched fares are considered fresh
+     * @param hardTtlSeconds how long fetched fares may be served at all
+     * @param snapshotRetentionSeconds how long a replaced entry stays reachable by search ID
+     * @param partialRetentionSeconds how long a partial result stays reachable by search ID
+     */
+    @Autowired
+    public SearchResultCache(
+            @Value("${cache.max_entries:500}") int maxEntries,
+            @Value("${cache.max_bytes:268435456}") long maxBytes,
+            @Value("${cache.ttl_seconds:600}") long ttlSeconds,
+            @Value("${cache.hard_ttl_seconds:3600}") long hardTtlSeconds,
+            @Value("${cache.snapshot_retention_seconds:900}") long snapshotRetentionSeconds,
+            @Value("${cache.partial_retention_seconds:60}") long partialRetentionSeconds
+    ) {
+        this(maxEntries, maxBytes, ttlSeconds, hardTtlSeconds, snapshotRetentionSeconds, partialRetentionSeconds,
+                Clock.systemUTC());
+    }
+
+    SearchResultCache(
+            int maxEntries,
+            long maxBytes,
+            long ttlSeconds,
+            long hardTtlSeconds,
+            long snapshotRetentionSeconds,
+            long partialRetentionSeconds,
+            Clock clock
+    ) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.hardTtl = Duration.ofSeconds(Math.max(ttlSeconds, hardTtlSeconds));
+        this.snapshotRetention = Duration.ofSeconds(Math.max(0, snapshotRetentionSeconds));
+        this.partialRetention = Duration.ofSeconds(Math.max(0, partialRetentionSeconds));
+        this.clock = clock;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    /**
+     * Returns the live entry for a search key, or null if it is missing or past its hard
+     * TTL. The entry may be stale; see {@link #isFresh(CachedSearch)}.
+     *
+     * @param key the normalized search key
+     * @return the cached search, or null on a miss
+     */
+    public CachedSearch get(String key) {
+        sketch.increment(key);
+        CachedSearch search = entries.get(key);
+        return recordLookup(search);
+    }
+
+    /**
+     * Returns the fresh entry for a search key without recording a lookup. Used to re-check
+     * the cache right before starting an upstream load.
+     *
+     * @param key the normalized search key
+     * @return the cached search, or null if it is missing or stale
+     */
+    public CachedSearch peek(String key) {
+        CachedSearch search = entries.get(key);
+        return search == null || !isFresh(search) ? null : search;
+    }
+
+    /**
+     * @param search a cached search
+     * @return true if the search is still within its (soft) TTL
+     */
+    public boolean isFresh(CachedSearch search) {
+        return !clock.instant().isAfter(search.getFetchedAt().plus(ttl));
+    }
+
+    /**
+     * Returns the entry created for a given search ID, or null if that search is no longer
+     * cached. Entries replaced by a refresh are still returned during the snapshot retention.
+     *
+     * @param searchId the search ID handed out with the search results
+     * @return the cached search, or null on a miss
+     */
+    public CachedSearch getBySearchId(String searchId) {
+        CachedSearch search = entriesBySearchId.get(searchId);
+        if (search == null) {
+            search = findRetired(searchId);
+        }
+        if (search != null) {
+            sketch.increment(search.getKey());
+        }
+        return recordLookup(search);
+    }
+
+    /**
+     * Stores (or replaces) the entry for its search key and evicts entries if the
+     * cache went over its limits.
+     *
+     * @param search the entry to store
+     */
+    public void put(CachedSearch search) {
+        CachedSearch previous = entries.put(search.getKey(), search);
+        entriesBySearchId.put(search.getSearchId(), search);
+        estimatedBytes.addAndGet(search.getEstimatedBytes());
+        if (previous != null) {
+            entriesBySearchId.remove(previous.getSearchId(), previous);
+            estimatedBytes.addAndGet(-previous.getEstimatedBytes());
+            retire(previous);
+        }
+        dropExpiredSnapshots();
+        if (isOverLimits()) {
+            evict(search.getKey());
+        }
+    }
+
+    /**
+     * Keeps an incomplete result reachable by its search ID for the partial retention,
+     * without making it the entry of its search key, so its pages and details can be
+     * served while the next search of the key loads the complete result.
+     *
+     * @param search the partial result
+     */
+    public void putPartial(CachedSearch search) {
+        keepSnapshot(search, partialRetention);
+        dropExpiredSnapshots();
+        if (isOverLimits()) {
+            evict(search.getKey());
+        }
+    }
+
+    /**
+     * @return a snapshot of the cache counters
+     */
+    public CacheStats getStats() {
+        return new CacheStats(
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                expirations.sum(),
+                entries.size(),
+                estimatedBytes.get()
+        );
+    }
+
+    private CachedSearch recordLookup(CachedSearch search) {
+        if (search != null && isExpired(search)) {
+            remove(search, expirations);
+            search = null;
+        }
+        if (search == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return search;
+    }
+
+    private void remove(CachedSearch search, LongAdder reason) {
+        entriesBySearchId.remove(search.getSearchId(), search);
+        if (entries.remove(search.getKey(), search)) {
+            estimatedBytes.addAndGet(-search.getEstimatedBytes());
+            reason.increment();
+        }
+    }
+
+    private void retire(CachedSearch search) {
+        keepSnapshot(search, snapshotRetention);
+    }
+
+    private void keepSnapshot(CachedSearch search, Duration retention) {
+        if (retention.isZero()) {
+            return;
+        }
+        RetiredSnapshot retired = new RetiredSnapshot(search, clock.instant().plus(retention));
+        if (retiredBySearchId.putIfAbsent(search.getSearchId(), retired) == null) {
+            retiredBytes.addAndGet(search.getEstimatedBytes());
+        }
+    }
+
+    private CachedSearch findRetired(String searchId) {
+        RetiredSnapshot retired = retiredBySearchId.get(searchId);
+        if (retired == null) {
+            return null;
+        }
+        if (clock.instant().isAfter(retired.until())) {
+            dropSnapshot(retired);
+            return null;
+        }
+        return retired.search();
+    }
+
+    private void dropExpiredSnapshots() {
+        Instant now = clock.instant();
+        for (RetiredSnapshot retired : retiredBySearchId.values()) {
+            if (now.isAfter(retired.until())) {
+                dropSnapshot(retired);
+            }
+        }
+    }
+
+    private void dropSnapshot(RetiredSnapshot retired) {
+        if (retiredBySearchId.remove(retired.search().getSearchId(), retired)) {
+            retiredBytes.addAndGet(-retired.search().getEstimatedBytes());
+        }
+    }
+
+    private boolean isExpired(CachedSearch search) {
+        return clock.instant().isAfter(search.getFetchedAt().plus(hardTtl));
+    }
+
+    private boolean isOverLimits() {
+        return entries.size() > maxEntries || estimatedBytes.get() + retiredBytes.get() > maxBytes;
+    }
+
+    /**
+     * Drops expired entries, then retired snapshots (oldest first), then the least
+     * frequently used entries (oldest first on ties) until the cache is within its limits.
+     * Candidates are collected and ranked once per eviction run, so shedding many entries
+     * costs one sort instead of a rescan per victim.
+     */
+    private void evict(String protectedKey) {
+        evictionLock.lock();
+        try {
+            List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+            for (CachedSearch search : entries.values()) {
+                if (isExpired(search)) {
+                    remove(search, expirations);
+                } else if (!search.getKey().equals(protectedKey)) {
+                    candidates.add(new EvictionCandidate(search, sketch.frequency(search.getKey())));
+                }
+            }
+            if (isOverLimits() && !retiredBySearchId.isEmpty()) {
+                List<RetiredSnapshot> retired = new ArrayList<>(retiredBySearchId.values());
+                retired.sort(Comparator.comparing(RetiredSnapshot::until));
+                for (int i = 0; i < retired.size() && isOverLimits(); i++) {
+                    dropSnapshot(retired.get(i));
+                }
+            }
+            if (!isOverLimits()) {
+                return;
+            }
+            candidates.sort(Comparator.comparingInt(EvictionCandidate::frequency)
+                    .thenComparing(candidate -> candidate.search().getFetchedAt()));
+            for (int i = 0; i < candidates.size() && isOverLimits() && entries.size() > 1; i++) {
+                remove(candidates.get(i).search(), evictions);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * An entry replaced by a refresh, reachable by search ID until the given instant.
+     */
+    private record RetiredSnapshot(CachedSearch search, Instant until) {
+    }
+
+    /**
+     * A live entry with the access frequency it had when the eviction run started.
+     */
+    private record EvictionCandidate(CachedSearch search, int frequency) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightsearch.backend.client;
+
+/**
+ * Additive-increase / multiplicative-decrease concurrency limit. Every call that completes
+ * in time raises the limit by 1/limit (about one slot per round of calls); a throttled or
+ * slow call cuts it by the backoff ratio. Not thread-safe: callers guard it with their
+ * own lock.
+ */
+class AimdLimit {
+
+    private static final double BACKOFF_RATIO = 0.7;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private double limit;
+
+    /**
+     * @param initialLimit starting number of concurrent calls
+     * @param minLimit lowest limit the backoff can reach
+     * @param maxLimit highest limit the increase can reach
+     * @param latencyThresholdNanos calls slower than this count as congestion
+     */
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+    }
+
+    int current() {
+        return (int) limit;
+    }
+
+    /**
+     * Adjusts the limit after a call completed.
+     *
+     * @param latencyNanos how long the call took
+     * @param throttled whether the upstream answered 429
+     */
+    void onSample(long latencyNanos, boolean throttled) {
+        if (throttled || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.flightsearch.backend.client;
+
+/**
+ * Thrown when Amadeus answered a location lookup successfully but knows no airport for the
+ * keyword or code. Unlike a failed call, this answer may be cached.
+ */
+public class AirportNotFoundException extends RuntimeException {
+
+    public AirportNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,85 +1,91 @@
 package com.flightsearch.backend.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.metrics.SearchStage;
+import com.flightsearch.backend.metrics.StageOutcome;
 import com.flightsearch.backend.model.Airport;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
 import com.flightsearch.backend.model.flightoptions.GeneralResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 @Component
 public class AmadeusClient {
 
     private final RestTemplate restTemplate;
+    private final TokenManager tokenManager;
+    private final UpstreamLimiters upstreamLimiters;
+    private final SearchMetrics searchMetrics;
     private final String baseUrl;
-    private final String clientSecret;
-    private String clientKey;
-    private final ObjectMapper objectMapper;
 
     /**
      * AmadeusClient is responsible for making REST calls to Amadeus APIs
      * to fetch airport and flight data.
      *
      * @param restTemplate injected RestTemplate
+     * @param tokenManager provides the current access token
+     * @param upstreamLimiters rate and concurrency limiters of the Amadeus endpoints
+     * @param searchMetrics timer for the response parsing
      * @param baseUrl the base URL for the Amadeus API
-     * @param clientKey the initial client key (API Key)
-     * @param clientSecret the client secret (API Secret)
      */
     public AmadeusClient(
             RestTemplate restTemplate,
-            @Value("${api.base_url}") String baseUrl,
-            @Value("${api.client_key}") String clientKey,
-            @Value("${api.client_secret}") String clientSecret
+            TokenManager tokenManager,
+            UpstreamLimiters upstreamLimiters,
+            SearchMetrics searchMetrics,
+            @Value("${api.base_url}") String baseUrl
     ) {
         this.restTemplate = restTemplate;
+        this.tokenManager = tokenManager;
+        this.upstreamLimiters = upstreamLimiters;
+        this.searchMetrics = searchMetrics;
         this.baseUrl = baseUrl;
-        this.clientKey = clientKey;
-        this.clientSecret = clientSecret;
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
-     * Builds an HttpEntity with the current bearer token.
+     * Builds an HttpEntity with the given bearer token.
      *
+     * @param token the access token
      * @return HttpEntity with bearer authorization header
      */
-    public HttpEntity<String> buildHeaders() {
+    public HttpEntity<String> buildHeaders(String token) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(clientKey);
+        headers.setBearerAuth(token);
         return new HttpEntity<>(headers);
     }
 
     /**
-     * Refreshes the OAuth2 token by calling the Amadeus security endpoint,
-     * then updates the internal clientKey with the new token.
+     * Runs a call with the current token, each attempt admitted by the endpoint limiter.
+     * If the API rejects the token, it is refreshed (once for all callers that saw it) and
+     * the call is retried a single time.
+     *
+     * @param limiter the limiter of the called endpoint
+     * @param call the call to run
+     * @return the call result
+     * @throws JsonProcessingException if the call fails to parse its response
      */
-    private synchronized void refreshToken() {
+    private <T> T withToken(UpstreamLimiter limiter, AuthorizedCall<T> call) throws JsonProcessingException {
+        String token = tokenManager.getToken();
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-            body.add("grant_type", "client_credentials");
-            body.add("client_id", clientKey);
-            body.add("client_secret", clientSecret);
-
-            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<JsonNode> response =
-                    restTemplate.postForEntity(baseUrl + "/v1/security/oauth2/token", request, JsonNode.class);
-
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new RuntimeException("Error when calling Amadeus API: " + response.getStatusCode());
-            }
-            this.clientKey = response.getBody().path("access_token").asText();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            return limiter.execute(() -> call.execute(buildHeaders(token)));
+        } catch (HttpClientErrorException.Unauthorized e) {
+            String refreshed = tokenManager.refresh(token);
+            return limiter.execute(() -> call.execute(buildHeaders(refreshed)));
         }
     }
 
@@ -90,7 +96,6 @@ public class AmadeusClient {
      * @return Airport object containing name and IATA code
      */
     public Airport fetchAirport(String airportKeyword) {
-        HttpEntity<String> entity = buildHeaders();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(baseUrl + "v1/reference-data/locations")
                 .queryParam("subType", "AIRPORT")
                 .queryParam("keyword", airportKeyword)
@@ -99,10 +104,11 @@ public class AmadeusClient {
         ResponseEntity<JsonNode> response;
 
         try {
-            response = restTemplate.exchange(uri, HttpMethod.GET, entity, JsonNode.class);
-        } catch (HttpClientErrorException.Unauthorized e) {
-            refreshToken();
-            return fetchAirport(airportKeyword);
+            response = withToken(
+                    upstreamLimiters.locations(),
+                    entity -> restTemplate.exchange(uri, HttpMethod.GET, entity, JsonNode.class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
         }
 
         if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
@@ -111,7 +117,7 @@ public class AmadeusClient {
 
         JsonNode dataArray = response.getBody().path("data");
         if (!dataArray.isArray() || dataArray.isEmpty()) {
-            throw new RuntimeException("No airport data returned for keyword: " + airportKeyword);
+            throw new AirportNotFoundException("No airport data returned for keyword: " + airportKeyword);
         }
 
         JsonNode firstAirportNode = dataArray.get(0);
@@ -144,7 +150,35 @@ public class AmadeusClient {
             String currency,
             boolean nonStop
     ) throws JsonProcessingException {
-        HttpEntity<String> entity = buildHeaders();
+        return fetchFlightData(
+                departureAirportCode, arrivalAirportCode,
+                departureDate, arrivalDate,
+                numAdults, currency, nonStop,
+                null
+        );
+    }
+
+    /**
+     * Fetches flight data like {@link #fetchFlightData(String, String, String, String, int,
+     * String, boolean)}, handing every offer to the listener as soon as it has been read off
+     * the wire, before the rest of the response arrives. Amadeus sends the dictionaries after
+     * the offers, so they are only available in the returned response.
+     *
+     * @param onOffer called with each offer in response order, on the calling thread; null
+     *                to parse the response in one go
+     * @return GeneralResponse containing flight offers and dictionaries
+     * @throws JsonProcessingException if JSON parsing fails
+     */
+    public GeneralResponse fetchFlightData(
+            String departureAirportCode,
+            String arrivalAirportCode,
+            String departureDate,
+            String arrivalDate,
+            int numAdults,
+            String currency,
+            boolean nonStop,
+            Consumer<FlightOffer> onOffer
+    ) throws JsonProcessingException {
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(baseUrl + "v2/shopping/flight-offers")
                 .queryParam("originLocationCode", departureAirportCode)
                 .queryParam("destinationLocationCode", arrivalAirportCode)
@@ -158,28 +192,96 @@ public class AmadeusClient {
         }
 
         String uri = uriBuilder.toUriString();
-        ResponseEntity<String> response;
 
-        try {
-            response = restTemplate.exchange(uri, HttpMethod.GET, entity, String.class);
-        } catch (HttpClientErrorException.Unauthorized e) {
-            refreshToken();
-            return fetchFlightData(
-                    departureAirportCode,
-                    arrivalAirportCode,
-                    departureDate,
-                    arrivalDate,
-                    numAdults,
-                    currency,
-                    nonStop
-            );
-        }
+        return withToken(upstreamLimiters.flightOffers(), entity -> {
+            try {
+                return restTemplate.execute(
+                        uri,
+                        HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().putAll(entity.getHeaders());
+                            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                        },
+                        response -> readFlightData(response, onOffer)
+                );
+            } catch (ResourceAccessException e) {
+                if (e.getCause() instanceof JsonProcessingException parseError) {
+                    throw parseError;
+                }
+                throw e;
+            }
+        });
+    }
 
-        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+    /**
+     * Deserializes a flight-offers response straight from the response stream, so the
+     * payload is never buffered as a String. Since parsing consumes the stream, the
+     * recorded parse time includes reading the body off the wire.
+     *
+     * @param response the upstream response
+     * @param onOffer listener for each offer, or null
+     * @return GeneralResponse containing flight offers and dictionaries
+     * @throws IOException if the body cannot be read or parsed
+     */
+    private GeneralResponse readFlightData(ClientHttpResponse response, Consumer<FlightOffer> onOffer) throws IOException {
+        if (!response.getStatusCode().is2xxSuccessful()) {
             throw new RuntimeException("Error when calling Amadeus API: " + response.getStatusCode());
         }
+        long start = System.nanoTime();
+        StageOutcome outcome = StageOutcome.ERROR;
+        try (JsonParser parser = AmadeusJsonReaders.FLIGHT_OFFERS.createParser(response.getBody())) {
+            if (parser.nextToken() == null) {
+                throw new RuntimeException("Error when calling Amadeus API: " + response.getStatusCode());
+            }
+            GeneralResponse flightData = onOffer == null
+                    ? AmadeusJsonReaders.FLIGHT_OFFERS.readValue(parser)
+                    : readFlightDataIncrementally(parser, onOffer);
+            outcome = StageOutcome.SUCCESS;
+            return flightData;
+        } finally {
+            searchMetrics.record(SearchStage.PARSE, start, outcome);
+        }
+    }
+
+    /**
+     * Walks the top-level fields of a flight-offers response and binds the offers one at a
+     * time, so each can be handed on before the next one is read.
+     */
+    private static GeneralResponse readFlightDataIncrementally(
+            JsonParser parser,
+            Consumer<FlightOffer> onOffer
+    ) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new RuntimeException("Unexpected Amadeus response: " + parser.currentToken());
+        }
+        GeneralResponse flightData = new GeneralResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "data" -> {
+                    if (value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    List<FlightOffer> offers = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        FlightOffer offer = AmadeusJsonReaders.FLIGHT_OFFER.readValue(parser);
+                        offers.add(offer);
+                        onOffer.accept(offer);
+                    }
+                    flightData.setData(offers);
+                }
+                case "meta" -> flightData.setMeta(AmadeusJsonReaders.FLIGHT_OFFERS_META.readValue(parser));
+                case "dictionaries" -> flightData.setDictionaries(AmadeusJsonReaders.DICTIONARIES.readValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return flightData;
+    }
 
-        String modifiedJson = response.getBody().replace("\"class\":", "\"className\":");
-        return objectMapper.readValue(modifiedJson, GeneralResponse.class);
+    @FunctionalInterface
+    private interface AuthorizedCall<T> {
+        T execute(HttpEntity<String> entity) throws JsonProcessingException;
     }
 }
@@ -0,0 +1,38 @@
+package com.flightsearch.backend.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.flightsearch.backend.model.flightoptions.Dictionaries;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+
+/**
+ * Shared, immutable Jackson readers for Amadeus payloads. The mapper behind them is built
+ * once with the Blackbird module (generated accessors instead of reflection) and
+ * ObjectReaders are thread-safe, so every request reuses the same deserializer caches.
+ */
+public final class AmadeusJsonReaders {
+
+    static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new BlackbirdModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    /** Reads a flight-offers search response. */
+    public static final ObjectReader FLIGHT_OFFERS = MAPPER.readerFor(GeneralResponse.class);
+
+    /** Reads one offer of a flight-offers response, for incremental parsing. */
+    public static final ObjectReader FLIGHT_OFFER = MAPPER.readerFor(FlightOffer.class);
+
+    /** Reads the meta object of a flight-offers response, for incremental parsing. */
+    public static final ObjectReader FLIGHT_OFFERS_META = MAPPER.readerFor(GeneralResponse.Meta.class);
+
+    /** Reads the dictionaries of a flight-offers response, for incremental parsing. */
+    public static final ObjectReader DICTIONARIES = MAPPER.readerFor(Dictionaries.class);
+
+    private AmadeusJsonReaders() {
+    }
+}
@@ -0,0 +1,162 @@
+package com.flightsearch.backend.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class CircuitBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialRunning;
+    private long opened;
+    private long shortCircuited;
+
+    /**
+     * CircuitBreaker stops calling Amadeus after a run of consecutive failures. While open,
+     * calls fail fast with CircuitOpenException so callers can fall back to stale data;
+     * after the open period a single trial call is let through, and its outcome closes or
+     * re-opens the breaker. Client errors other than 429 are the caller's fault and do not
+     * count as failures; neither do calls the upstream limiter rejected, which never reached
+     * Amadeus.
+     *
+     * @param failureThreshold consecutive failures that open the breaker
+     * @param openMillis how long the breaker stays open before a trial call
+     */
+    public CircuitBreaker(
+            @Value("${upstream.circuit.failure_threshold:5}") int failureThreshold,
+            @Value("${upstream.circuit.open_ms:30000}") long openMillis
+    ) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = Duration.ofMillis(openMillis).toNanos();
+    }
+
+    /**
+     * Runs a call unless the breaker is open.
+     *
+     * @param call the upstream call
+     * @return the call result
+     * @throws E if the call fails
+     * @throws CircuitOpenException if the breaker refused the call
+     */
+    public <T, E extends Exception> T execute(UpstreamCall<T, E> call) throws E {
+        acquirePermission();
+        boolean reachedUpstream = true;
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } catch (HttpClientErrorException e) {
+            failed = e instanceof HttpClientErrorException.TooManyRequests;
+            throw e;
+        } catch (UpstreamRejectedException | CircuitOpenException e) {
+            reachedUpstream = false;
+            throw e;
+        } finally {
+            if (reachedUpstream) {
+                recordResult(failed);
+            } else {
+                releasePermission();
+            }
+        }
+    }
+
+    /**
+     * @return true if a call made now would not be short-circuited
+     */
+    public boolean allowsRequests() {
+        lock.lock();
+        try {
+            return state == State.CLOSED || (state == State.OPEN && System.nanoTime() - openedAt >= openNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the breaker state and counters
+     */
+    public CircuitBreakerStats getStats() {
+        lock.lock();
+        try {
+            return new CircuitBreakerStats(state.name(), consecutiveFailures, opened, shortCircuited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Claims permission for a call that is not run through {@link #execute}, e.g. a
+     * reactive one. Must be followed by exactly one {@link #recordResult(boolean)} or
+     * {@link #releasePermission()}.
+     *
+     * @throws CircuitOpenException if the breaker refused the call
+     */
+    public void acquirePermission() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.CLOSED || (state == State.HALF_OPEN && !trialRunning)) {
+                trialRunning = state == State.HALF_OPEN;
+                return;
+            }
+            shortCircuited++;
+            throw new CircuitOpenException("Amadeus circuit breaker is open");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the permission of a call that never reached Amadeus, without recording an
+     * outcome. A half-open breaker lets the next call through as its trial.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            trialRunning = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a call admitted by {@link #acquirePermission()}.
+     *
+     * @param failed whether the call counts as an upstream failure
+     */
+    public void recordResult(boolean failed) {
+        lock.lock();
+        try {
+            trialRunning = false;
+            if (!failed) {
+                consecutiveFailures = 0;
+                state = State.CLOSED;
+                return;
+            }
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != State.OPEN) {
+                    opened++;
+                }
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.flightsearch.backend.client;
+
+/**
+ * Point-in-time snapshot of the upstream circuit breaker.
+ *
+ * @param state CLOSED, OPEN or HALF_OPEN
+ * @param consecutiveFailures failed calls since the last success
+ * @param opened times the breaker opened
+ * @param shortCircuited calls refused while the breaker was open
+ */
+public record CircuitBreakerStats(
+        String state,
+        int consecutiveFailures,
+        long opened,
+        long shortCircuited
+) {
+}
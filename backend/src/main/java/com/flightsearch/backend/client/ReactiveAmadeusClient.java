@@ -0,0 +1,149 @@
+package com.flightsearch.backend.client;
+
+import com.flightsearch.backend.http.UpstreamEndpoint;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+@Profile("reactive")
+public class ReactiveAmadeusClient {
+
+    private final WebClient webClient;
+    private final TokenManager tokenManager;
+    private final Duration flightOffersDeadline;
+
+    /**
+     * ReactiveAmadeusClient is the non-blocking counterpart of AmadeusClient for the
+     * reactive profile. Requests run on the Netty event loop over a pooled, keep-alive,
+     * gzip-enabled connection, and responses are decoded with the same Jackson mapper as
+     * the blocking client. The access token still comes from TokenManager; it is only
+     * fetched off the event loop when it actually has to be refreshed.
+     *
+     * @param webClientBuilder injected WebClient builder
+     * @param tokenManager provides the current access token
+     * @param searchMetrics counter of the response status codes
+     * @param baseUrl the base URL for the Amadeus API
+     * @param connectTimeoutMillis how long to wait for a new connection
+     * @param responseTimeoutMillis how long to wait for the flight-offers response
+     * @param deadlineMillis how long a whole flight-offers call may take, retries included
+     * @param maxInMemoryBytes largest response body the decoder buffers
+     */
+    public ReactiveAmadeusClient(
+            WebClient.Builder webClientBuilder,
+            TokenManager tokenManager,
+            SearchMetrics searchMetrics,
+            @Value("${api.base_url}") String baseUrl,
+            @Value("${http.connect_timeout_ms:2000}") int connectTimeoutMillis,
+            @Value("${http.flight_offers.response_timeout_ms:10000}") long responseTimeoutMillis,
+            @Value("${http.flight_offers.deadline_ms:20000}") long deadlineMillis,
+            @Value("${http.reactive.max_in_memory_bytes:16777216}") int maxInMemoryBytes
+    ) {
+        HttpClient httpClient = HttpClient.create()
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(ExchangeFilterFunction.ofResponseProcessor(response -> {
+                    searchMetrics.upstreamResponse(UpstreamEndpoint.FLIGHT_OFFERS.tag(), response.statusCode().value());
+                    return Mono.just(response);
+                }))
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(AmadeusJsonReaders.MAPPER));
+                    codecs.defaultCodecs().maxInMemorySize(maxInMemoryBytes);
+                })
+                .build();
+        this.tokenManager = tokenManager;
+        this.flightOffersDeadline = Duration.ofMillis(deadlineMillis);
+    }
+
+    /**
+     * Fetches flight data (one-way or round-trip) from the Amadeus API without blocking.
+     * A rejected token is refreshed and the call retried once; a 429 is retried once after
+     * the advertised Retry-After.
+     *
+     * @param departureAirportCode the origin IATA code
+     * @param arrivalAirportCode the destination IATA code
+     * @param departureDate date of departure
+     * @param arrivalDate date of return (if round-trip)
+     * @param numAdults number of adult travelers
+     * @param currency currency code
+     * @param nonStop whether to filter only non-stop flights
+     * @return GeneralResponse containing flight offers and dictionaries
+     */
+    public Mono<GeneralResponse> fetchFlightData(
+            String departureAirportCode,
+            String arrivalAirportCode,
+            String departureDate,
+            String arrivalDate,
+            int numAdults,
+            String currency,
+            boolean nonStop
+    ) {
+        Function<UriBuilder, URI> uri = builder -> {
+            builder.path("v2/shopping/flight-offers")
+                    .queryParam("originLocationCode", departureAirportCode)
+                    .queryParam("destinationLocationCode", arrivalAirportCode)
+                    .queryParam("departureDate", departureDate)
+                    .queryParam("adults", numAdults)
+                    .queryParam("currencyCode", currency)
+                    .queryParam("nonStop", nonStop);
+            if (arrivalDate != null && !arrivalDate.isEmpty()) {
+                builder.queryParam("returnDate", arrivalDate);
+            }
+            return builder.build();
+        };
+
+        return currentToken()
+                .flatMap(token -> get(uri, token)
+                        .onErrorResume(WebClientResponseException.Unauthorized.class, e -> refreshToken(token)
+                                .flatMap(refreshed -> get(uri, refreshed))))
+                .onErrorResume(WebClientResponseException.TooManyRequests.class, e ->
+                        Mono.delay(UpstreamLimiter.retryAfter(e.getHeaders()))
+                                .then(currentToken())
+                                .flatMap(token -> get(uri, token)))
+                .timeout(flightOffersDeadline);
+    }
+
+    private Mono<GeneralResponse> get(Function<UriBuilder, URI> uri, String token) {
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> headers.setBearerAuth(token))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(GeneralResponse.class);
+    }
+
+    private Mono<String> currentToken() {
+        return Mono.defer(() -> {
+            String token = tokenManager.peekToken();
+            if (token != null) {
+                return Mono.just(token);
+            }
+            return Mono.fromCallable(tokenManager::getToken).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private Mono<String> refreshToken(String rejectedToken) {
+        return Mono.fromCallable(() -> tokenManager.refresh(rejectedToken)).subscribeOn(Schedulers.boundedElastic());
+    }
+}
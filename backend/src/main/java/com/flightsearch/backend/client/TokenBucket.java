@@ -0,0 +1,45 @@
+package com.flightsearch.backend.client;
+
+/**
+ * Token-bucket rate limiter for one upstream endpoint. Not thread-safe: callers guard it
+ * with their own lock.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param ratePerSecond sustained number of calls per second
+     * @param burst maximum number of calls allowed back to back
+     * @param now current System.nanoTime()
+     */
+    TokenBucket(double ratePerSecond, int burst, long now) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now current System.nanoTime()
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryTake(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
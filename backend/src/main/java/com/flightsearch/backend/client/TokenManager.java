@@ -0,0 +1,207 @@
+package com.flightsearch.backend.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class TokenManager {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    private static final Duration MIN_REFRESH_DELAY = Duration.ofSeconds(5);
+    private static final Duration FALLBACK_LIFETIME = Duration.ofMinutes(5);
+
+    private final RestTemplate restTemplate;
+    private final SearchMetrics searchMetrics;
+    private final String tokenUrl;
+    private final String clientId;
+    private final String clientSecret;
+    private final Duration refreshMargin;
+    private final Clock clock;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+    private volatile AccessToken current;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * TokenManager owns the Amadeus OAuth2 access token. Readers get the current token from
+     * a volatile field without locking; the token is refreshed in the background shortly
+     * before it expires, and a token rejected by the API is refreshed at most once no matter
+     * how many requests report it. The refresh margin is capped at half the token lifetime
+     * and a refresh is never scheduled sooner than MIN_REFRESH_DELAY, so a short-lived token
+     * cannot make the refresh loop hammer the token endpoint.
+     *
+     * @param restTemplate injected RestTemplate
+     * @param searchMetrics counter of fetched tokens
+     * @param baseUrl the base URL for the Amadeus API
+     * @param clientId the client key (API Key)
+     * @param clientSecret the client secret (API Secret)
+     * @param refreshMarginSeconds how long before expiry the token is refreshed
+     */
+    public TokenManager(
+            RestTemplate restTemplate,
+            SearchMetrics searchMetrics,
+            @Value("${api.base_url}") String baseUrl,
+            @Value("${api.client_key}") String clientId,
+            @Value("${api.client_secret}") String clientSecret,
+            @Value("${api.token_refresh_margin_seconds:60}") long refreshMarginSeconds
+    ) {
+        this.restTemplate = restTemplate;
+        this.searchMetrics = searchMetrics;
+        this.tokenUrl = baseUrl + "/v1/security/oauth2/token";
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.refreshMargin = Duration.ofSeconds(refreshMarginSeconds);
+        this.clock = Clock.systemUTC();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("amadeus-token-refresh").daemon().factory()
+        );
+    }
+
+    /**
+     * Returns a valid access token, fetching one first if there is none yet or the current
+     * one has already expired.
+     *
+     * @return the bearer token
+     */
+    public String getToken() {
+        AccessToken token = current;
+        if (token != null && !token.isExpired(clock.instant())) {
+            return token.value();
+        }
+        return refresh(token == null ? null : token.value());
+    }
+
+    /**
+     * Returns the current token if it is still valid, without ever fetching one. Lets
+     * non-blocking callers skip a thread hop in the common case.
+     *
+     * @return the bearer token, or null if one has to be fetched first
+     */
+    public String peekToken() {
+        AccessToken token = current;
+        return token != null && !token.isExpired(clock.instant()) ? token.value() : null;
+    }
+
+    /**
+     * Replaces a token the API rejected. Only the first caller reporting a given token
+     * fetches a new one; the others get the token it fetched.
+     *
+     * @param rejectedToken the token that was rejected
+     * @return the token to retry with
+     */
+    public String refresh(String rejectedToken) {
+        refreshLock.lock();
+        try {
+            AccessToken token = current;
+            if (token != null && !token.value().equals(rejectedToken) && !token.isExpired(clock.instant())) {
+                return token.value();
+            }
+            return fetchAndSchedule().value();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private AccessToken fetchAndSchedule() {
+        AccessToken token = fetchToken();
+        searchMetrics.tokenRefreshed();
+        current = token;
+        schedule(refreshDelay(Duration.between(clock.instant(), token.expiresAt()), refreshMargin));
+        return token;
+    }
+
+    /**
+     * Returns how long to wait before refreshing a token with the given remaining lifetime:
+     * the lifetime minus the refresh margin, where the margin is at most half the lifetime,
+     * and never less than MIN_REFRESH_DELAY.
+     */
+    static Duration refreshDelay(Duration lifetime, Duration refreshMargin) {
+        Duration halfLifetime = lifetime.dividedBy(2);
+        Duration margin = refreshMargin.compareTo(halfLifetime) > 0 ? halfLifetime : refreshMargin;
+        Duration delay = lifetime.minus(margin);
+        return delay.compareTo(MIN_REFRESH_DELAY) < 0 ? MIN_REFRESH_DELAY : delay;
+    }
+
+    private void schedule(Duration delay) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        scheduledRefresh = scheduler.schedule(this::refreshInBackground, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshInBackground() {
+        refreshLock.lock();
+        try {
+            fetchAndSchedule();
+        } catch (RuntimeException e) {
+            // Keep serving the current token; callers refresh on their own once it expires.
+            AccessToken token = current;
+            if (token != null && !token.isExpired(clock.instant())) {
+                schedule(RETRY_DELAY);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Calls the Amadeus security endpoint with the client credentials grant.
+     *
+     * @return the new token and its expiry
+     */
+    private AccessToken fetchToken() {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+            body.add("grant_type", "client_credentials");
+            body.add("client_id", clientId);
+            body.add("client_secret", clientSecret);
+
+            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+            ResponseEntity<JsonNode> response = restTemplate.postForEntity(tokenUrl, request, JsonNode.class);
+
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                throw new RuntimeException("Error when calling Amadeus API: " + response.getStatusCode());
+            }
+            String value = response.getBody().path("access_token").asText();
+            long expiresIn = response.getBody().path("expires_in").asLong(0);
+            Duration lifetime = expiresIn > 0 ? Duration.ofSeconds(expiresIn) : FALLBACK_LIFETIME;
+            return new AccessToken(value, clock.instant().plus(lifetime));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record AccessToken(String value, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
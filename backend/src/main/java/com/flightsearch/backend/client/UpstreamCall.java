@@ -0,0 +1,9 @@
+package com.flightsearch.backend.client;
+
+/**
+ * One attempt of an upstream call, run once the limiter admitted it.
+ */
+@FunctionalInterface
+public interface UpstreamCall<T, E extends Exception> {
+    T call() throws E;
+}
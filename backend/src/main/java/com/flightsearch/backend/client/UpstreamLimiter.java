@@ -0,0 +1,198 @@
+package com.flightsearch.backend.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class UpstreamLimiter {
+
+    private static final int MAX_ATTEMPTS = 2;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String endpoint;
+    private final TokenBucket bucket;
+    private final AimdLimit limit;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition admittable = lock.newCondition();
+    private long blockedUntil;
+    private int inFlight;
+    private int queueDepth;
+    private long admitted;
+    private long rejected;
+    private long throttled;
+
+    /**
+     * UpstreamLimiter guards one Amadeus endpoint. A call is admitted once the endpoint is
+     * not paused by a Retry-After, the adaptive concurrency limit has a free slot and the
+     * token bucket has a token; until then it waits in a bounded queue and is rejected
+     * when its deadline passes. A 429 pauses the endpoint for the advertised Retry-After,
+     * backs off the concurrency limit and retries the call once within the same deadline.
+     *
+     * @param endpoint name used in rejection messages and stats
+     * @param ratePerSecond sustained calls per second
+     * @param burst calls allowed back to back
+     * @param limit adaptive concurrency limit
+     * @param maxQueue maximum number of calls waiting to be admitted
+     * @param queueTimeout how long a call may wait to be admitted
+     */
+    UpstreamLimiter(
+            String endpoint,
+            double ratePerSecond,
+            int burst,
+            AimdLimit limit,
+            int maxQueue,
+            Duration queueTimeout
+    ) {
+        this.endpoint = endpoint;
+        this.bucket = new TokenBucket(ratePerSecond, burst, System.nanoTime());
+        this.limit = limit;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.blockedUntil = System.nanoTime();
+    }
+
+    /**
+     * Runs a call once the limiter admits it.
+     *
+     * @param call the upstream call
+     * @return the call result
+     * @throws E if the call fails
+     * @throws UpstreamRejectedException if the call was not admitted in time
+     */
+    public <T, E extends Exception> T execute(UpstreamCall<T, E> call) throws E {
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+        for (int attempt = 1; ; attempt++) {
+            acquire(deadline);
+            long start = System.nanoTime();
+            boolean wasThrottled = false;
+            try {
+                return call.call();
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                wasThrottled = true;
+                pause(retryAfter(e.getResponseHeaders()));
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            } finally {
+                release(System.nanoTime() - start, wasThrottled);
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the limiter counters
+     */
+    public UpstreamStats getStats() {
+        lock.lock();
+        try {
+            return new UpstreamStats(limit.current(), inFlight, queueDepth, admitted, rejected, throttled);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(long deadline) {
+        lock.lock();
+        try {
+            if (queueDepth >= maxQueue) {
+                throw reject("queue is full");
+            }
+            queueDepth++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    long remaining = deadline - now;
+                    long wait;
+                    if (now - blockedUntil < 0) {
+                        if (blockedUntil - deadline > 0) {
+                            throw reject("paused by Retry-After beyond the call deadline");
+                        }
+                        wait = blockedUntil - now;
+                    } else if (inFlight >= limit.current()) {
+                        wait = remaining;
+                    } else {
+                        wait = bucket.tryTake(now);
+                        if (wait == 0) {
+                            inFlight++;
+                            admitted++;
+                            return;
+                        }
+                    }
+                    if (remaining <= 0) {
+                        throw reject("queue deadline exceeded");
+                    }
+                    admittable.awaitNanos(Math.min(wait, remaining));
+                }
+            } finally {
+                queueDepth--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for " + endpoint, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, boolean wasThrottled) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (wasThrottled) {
+                throttled++;
+            }
+            limit.onSample(latencyNanos, wasThrottled);
+            admittable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pause(Duration retryAfter) {
+        lock.lock();
+        try {
+            long until = System.nanoTime() + retryAfter.toNanos();
+            if (until - blockedUntil > 0) {
+                blockedUntil = until;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UpstreamRejectedException reject(String reason) {
+        rejected++;
+        return new UpstreamRejectedException("Amadeus " + endpoint + " call rejected: " + reason);
+    }
+
+    /**
+     * Reads a Retry-After header given either in seconds or as an HTTP date.
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // not delta-seconds, try an HTTP date
+        }
+        try {
+            Instant retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(Instant.now(), retryAt);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.flightsearch.backend.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class UpstreamLimiters {
+
+    private final UpstreamLimiter flightOffers;
+    private final UpstreamLimiter locations;
+
+    /**
+     * UpstreamLimiters holds one limiter per Amadeus endpoint, so a burst of airport
+     * lookups cannot use up the rate budget of flight searches and vice versa.
+     *
+     * @param flightOffersRate sustained flight-offers calls per second
+     * @param flightOffersBurst flight-offers calls allowed back to back
+     * @param locationsRate sustained locations calls per second
+     * @param locationsBurst locations calls allowed back to back
+     * @param initialConcurrency starting concurrency limit of each endpoint
+     * @param minConcurrency lowest concurrency limit of each endpoint
+     * @param maxConcurrency highest concurrency limit of each endpoint
+     * @param latencyThresholdMillis calls slower than this shrink the concurrency limit
+     * @param maxQueue maximum calls waiting per endpoint
+     * @param queueTimeoutMillis how long a call may wait to be admitted
+     */
+    public UpstreamLimiters(
+            @Value("${upstream.flight_offers.rate_per_second:5}") double flightOffersRate,
+            @Value("${upstream.flight_offers.burst:5}") int flightOffersBurst,
+            @Value("${upstream.locations.rate_per_second:10}") double locationsRate,
+            @Value("${upstream.locations.burst:10}") int locationsBurst,
+            @Value("${upstream.initial_concurrency:4}") int initialConcurrency,
+            @Value("${upstream.min_concurrency:1}") int minConcurrency,
+            @Value("${upstream.max_concurrency:20}") int maxConcurrency,
+            @Value("${upstream.latency_threshold_ms:5000}") long latencyThresholdMillis,
+            @Value("${upstream.max_queue:200}") int maxQueue,
+            @Value("${upstream.queue_timeout_ms:5000}") long queueTimeoutMillis
+    ) {
+        long latencyThresholdNanos = Duration.ofMillis(latencyThresholdMillis).toNanos();
+        Duration queueTimeout = Duration.ofMillis(queueTimeoutMillis);
+        this.flightOffers = new UpstreamLimiter(
+                "flight-offers", flightOffersRate, flightOffersBurst,
+                new AimdLimit(initialConcurrency, minConcurrency, maxConcurrency, latencyThresholdNanos),
+                maxQueue, queueTimeout
+        );
+        this.locations = new UpstreamLimiter(
+                "locations", locationsRate, locationsBurst,
+                new AimdLimit(initialConcurrency, minConcurrency, maxConcurrency, latencyThresholdNanos),
+                maxQueue, queueTimeout
+        );
+    }
+
+    public UpstreamLimiter flightOffers() {
+        return flightOffers;
+    }
+
+    public UpstreamLimiter locations() {
+        return locations;
+    }
+
+    /**
+     * @return a snapshot of every endpoint limiter, keyed by endpoint
+     */
+    public Map<String, UpstreamStats> getStats() {
+        Map<String, UpstreamStats> stats = new LinkedHashMap<>();
+        stats.put("flightOffers", flightOffers.getStats());
+        stats.put("locations", locations.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,16 @@
+package com.flightsearch.backend.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a call to Amadeus could not be admitted before its queue deadline, or the
+ * queue for the endpoint was already full.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UpstreamRejectedException extends RuntimeException {
+
+    public UpstreamRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.flightsearch.backend.client;
+
+/**
+ * Point-in-time snapshot of one upstream endpoint limiter.
+ *
+ * @param concurrencyLimit current adaptive concurrency limit
+ * @param inFlight calls currently running against the endpoint
+ * @param queueDepth calls waiting to be admitted
+ * @param admitted calls admitted so far
+ * @param rejected calls rejected because the queue was full or their deadline passed
+ * @param throttled calls the upstream answered with 429
+ */
+public record UpstreamStats(
+        int concurrencyLimit,
+        int inFlight,
+        int queueDepth,
+        long admitted,
+        long rejected,
+        long throttled
+) {
+}
@@ -0,0 +1,70 @@
+package com.flightsearch.backend.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Enforces the overall deadline of each endpoint. The response timeout of the request
+ * factory only covers the wait for the headers; once they arrive, a watchdog closes the
+ * response if the body is still being read when the deadline passes, which makes the
+ * blocked read fail. Also feeds the per-request client metrics.
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Map<UpstreamEndpoint, EndpointTimeouts> timeouts;
+    private final ScheduledExecutorService scheduler;
+    private final HttpClientMetrics metrics;
+
+    public DeadlineInterceptor(
+            Map<UpstreamEndpoint, EndpointTimeouts> timeouts,
+            ScheduledExecutorService scheduler,
+            HttpClientMetrics metrics
+    ) {
+        this.timeouts = timeouts;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        UpstreamEndpoint endpoint = UpstreamEndpoint.of(request.getURI());
+        EndpointTimeouts endpointTimeouts = timeouts.get(endpoint);
+        long start = System.nanoTime();
+        metrics.exchangeStarted();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            metrics.exchangeFailed();
+            metrics.exchangeFinished();
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        metrics.responseReceived(endpoint, response.getStatusCode().value(), elapsed);
+
+        AtomicBoolean finished = new AtomicBoolean();
+        ScheduledFuture<?> watchdog = scheduler.schedule(() -> {
+            if (!finished.get()) {
+                metrics.deadlineExceeded();
+                response.close();
+            }
+        }, Math.max(0, endpointTimeouts.deadline().toNanos() - elapsed), TimeUnit.NANOSECONDS);
+
+        return new DecoratedClientHttpResponse(response, response.getHeaders(), input -> input, () -> {
+            if (finished.compareAndSet(false, true)) {
+                watchdog.cancel(false);
+                metrics.exchangeFinished();
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.flightsearch.backend.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * ClientHttpResponse that replaces the headers and/or wraps the body of another response,
+ * and runs a callback when it is closed.
+ */
+class DecoratedClientHttpResponse implements ClientHttpResponse {
+
+    @FunctionalInterface
+    interface BodyDecorator {
+        InputStream decorate(InputStream body) throws IOException;
+    }
+
+    private final ClientHttpResponse delegate;
+    private final HttpHeaders headers;
+    private final BodyDecorator bodyDecorator;
+    private final Runnable onClose;
+    private InputStream body;
+
+    DecoratedClientHttpResponse(
+            ClientHttpResponse delegate,
+            HttpHeaders headers,
+            BodyDecorator bodyDecorator,
+            Runnable onClose
+    ) {
+        this.delegate = delegate;
+        this.headers = headers;
+        this.bodyDecorator = bodyDecorator;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = bodyDecorator.decorate(delegate.getBody());
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.flightsearch.backend.http;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Request factory that applies the response timeout of the endpoint being called. Every
+ * endpoint goes through the same JDK HttpClient, so all of them share one pool of warm
+ * (HTTP/2 or keep-alive HTTP/1.1) connections.
+ */
+public class EndpointRoutingRequestFactory implements ClientHttpRequestFactory {
+
+    private final Map<UpstreamEndpoint, ClientHttpRequestFactory> factories = new EnumMap<>(UpstreamEndpoint.class);
+
+    public EndpointRoutingRequestFactory(HttpClient httpClient, Map<UpstreamEndpoint, EndpointTimeouts> timeouts) {
+        for (UpstreamEndpoint endpoint : UpstreamEndpoint.values()) {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(timeouts.get(endpoint).response());
+            factories.put(endpoint, factory);
+        }
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return factories.get(UpstreamEndpoint.of(uri)).createRequest(uri, httpMethod);
+    }
+}
@@ -0,0 +1,16 @@
+package com.flightsearch.backend.http;
+
+import java.time.Duration;
+
+/**
+ * Timeouts of one upstream endpoint.
+ *
+ * @param response how long to wait for the response headers
+ * @param deadline how long the whole exchange, including reading the body, may take
+ */
+public record EndpointTimeouts(Duration response, Duration deadline) {
+
+    public static EndpointTimeouts ofMillis(long responseMillis, long deadlineMillis) {
+        return new EndpointTimeouts(Duration.ofMillis(responseMillis), Duration.ofMillis(deadlineMillis));
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightsearch.backend.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks for gzip-compressed responses and inflates them transparently. The JDK HttpClient
+ * does not decompress bodies on its own.
+ */
+public class GzipDecompressionInterceptor implements ClientHttpRequestInterceptor {
+
+    private final HttpClientMetrics metrics;
+
+    public GzipDecompressionInterceptor(HttpClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ClientHttpResponse response = execution.execute(request, body);
+        if (!"gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            return response;
+        }
+        metrics.gzipResponse();
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return new DecoratedClientHttpResponse(response, headers, compressed -> {
+            PushbackInputStream input = new PushbackInputStream(compressed, 1);
+            int first = input.read();
+            if (first == -1) {
+                return input;
+            }
+            input.unread(first);
+            return new GZIPInputStream(input, 8192);
+        }, () -> { });
+    }
+}
@@ -0,0 +1,85 @@
+package com.flightsearch.backend.http;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Shared JDK HttpClient for all upstream calls. It keeps connections alive in its own
+     * pool and negotiates HTTP/2 over TLS when the server supports it, falling back to
+     * HTTP/1.1 otherwise. Its internal tasks run on the upstream executor, so they use
+     * virtual threads whenever the rest of the request path does.
+     *
+     * @param upstreamExecutor executor for the client's internal tasks
+     * @param connectTimeoutMillis how long to wait for a new connection
+     */
+    @Bean
+    public HttpClient upstreamHttpClient(
+            @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor,
+            @Value("${http.connect_timeout_ms:2000}") long connectTimeoutMillis
+    ) {
+        return HttpClient.newBuilder()
+                .executor(upstreamExecutor)
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService httpDeadlineScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("http-deadline").daemon().factory()
+        );
+    }
+
+    /**
+     * RestTemplate used by the Amadeus client, with per-endpoint response timeouts and
+     * overall deadlines, and transparent gzip decompression.
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            HttpClient upstreamHttpClient,
+            ScheduledExecutorService httpDeadlineScheduler,
+            HttpClientMetrics httpClientMetrics,
+            @Value("${http.flight_offers.response_timeout_ms:10000}") long flightOffersResponseMillis,
+            @Value("${http.flight_offers.deadline_ms:20000}") long flightOffersDeadlineMillis,
+            @Value("${http.locations.response_timeout_ms:3000}") long locationsResponseMillis,
+            @Value("${http.locations.deadline_ms:5000}") long locationsDeadlineMillis,
+            @Value("${http.token.response_timeout_ms:3000}") long tokenResponseMillis,
+            @Value("${http.token.deadline_ms:5000}") long tokenDeadlineMillis,
+            @Value("${http.default.response_timeout_ms:5000}") long defaultResponseMillis,
+            @Value("${http.default.deadline_ms:10000}") long defaultDeadlineMillis
+    ) {
+        Map<UpstreamEndpoint, EndpointTimeouts> timeouts = new EnumMap<>(UpstreamEndpoint.class);
+        timeouts.put(UpstreamEndpoint.FLIGHT_OFFERS,
+                EndpointTimeouts.ofMillis(flightOffersResponseMillis, flightOffersDeadlineMillis));
+        timeouts.put(UpstreamEndpoint.LOCATIONS,
+                EndpointTimeouts.ofMillis(locationsResponseMillis, locationsDeadlineMillis));
+        timeouts.put(UpstreamEndpoint.TOKEN,
+                EndpointTimeouts.ofMillis(tokenResponseMillis, tokenDeadlineMillis));
+        timeouts.put(UpstreamEndpoint.OTHER,
+                EndpointTimeouts.ofMillis(defaultResponseMillis, defaultDeadlineMillis));
+
+        RestTemplate restTemplate = new RestTemplate(new EndpointRoutingRequestFactory(upstreamHttpClient, timeouts));
+        restTemplate.setInterceptors(List.of(
+                new DeadlineInterceptor(timeouts, httpDeadlineScheduler, httpClientMetrics),
+                new GzipDecompressionInterceptor(httpClientMetrics)
+        ));
+        return restTemplate;
+    }
+}
@@ -0,0 +1,70 @@
+package com.flightsearch.backend.http;
+
+import com.flightsearch.backend.metrics.SearchMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class HttpClientMetrics {
+
+    private final SearchMetrics searchMetrics;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    private final LongAdder gzipResponses = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    /**
+     * HttpClientMetrics counts the exchanges going through the shared upstream HTTP client.
+     * The JDK client does not expose its connection pool, so usage is tracked per request.
+     *
+     * @param searchMetrics counter of the response status codes per endpoint
+     */
+    public HttpClientMetrics(SearchMetrics searchMetrics) {
+        this.searchMetrics = searchMetrics;
+    }
+
+    void exchangeStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void responseReceived(UpstreamEndpoint endpoint, int status, long nanos) {
+        completed.increment();
+        latencyNanos.add(nanos);
+        searchMetrics.upstreamResponse(endpoint.tag(), status);
+    }
+
+    void exchangeFailed() {
+        failed.increment();
+    }
+
+    void exchangeFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    void deadlineExceeded() {
+        deadlineExceeded.increment();
+    }
+
+    void gzipResponse() {
+        gzipResponses.increment();
+    }
+
+    /**
+     * @return a snapshot of the client counters
+     */
+    public HttpClientStats getStats() {
+        long completedCount = completed.sum();
+        return new HttpClientStats(
+                inFlight.get(),
+                completedCount,
+                failed.sum(),
+                deadlineExceeded.sum(),
+                gzipResponses.sum(),
+                completedCount == 0 ? 0 : latencyNanos.sum() / 1_000_000d / completedCount
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.flightsearch.backend.http;
+
+/**
+ * Point-in-time snapshot of the upstream HTTP client counters.
+ *
+ * @param inFlight exchanges whose response has not been fully read yet
+ * @param completed exchanges that returned a response
+ * @param failed exchanges that failed before a response arrived
+ * @param deadlineExceeded exchanges aborted by their endpoint deadline
+ * @param gzipResponses responses that arrived gzip-compressed
+ * @param averageLatencyMillis average time until the response headers arrived
+ */
+public record HttpClientStats(
+        int inFlight,
+        long completed,
+        long failed,
+        long deadlineExceeded,
+        long gzipResponses,
+        double averageLatencyMillis
+) {
+}
@@ -0,0 +1,44 @@
+package com.flightsearch.backend.http;
+
+import java.net.URI;
+
+/**
+ * Amadeus endpoints that get their own timeouts, recognized by their URI path.
+ */
+public enum UpstreamEndpoint {
+    FLIGHT_OFFERS("/shopping/flight-offers", "flight_offers"),
+    LOCATIONS("/reference-data/locations", "locations"),
+    TOKEN("/security/oauth2/token", "token"),
+    OTHER(null, "other");
+
+    private final String pathSuffix;
+    private final String tag;
+
+    UpstreamEndpoint(String pathSuffix, String tag) {
+        this.pathSuffix = pathSuffix;
+        this.tag = tag;
+    }
+
+    /**
+     * @return the value of the "endpoint" metric tag
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * @param uri the request URI
+     * @return the endpoint the URI belongs to, or OTHER
+     */
+    public static UpstreamEndpoint of(URI uri) {
+        String path = uri.getPath();
+        if (path != null) {
+            for (UpstreamEndpoint endpoint : values()) {
+                if (endpoint.pathSuffix != null && path.endsWith(endpoint.pathSuffix)) {
+                    return endpoint;
+                }
+            }
+        }
+        return OTHER;
+    }
+}
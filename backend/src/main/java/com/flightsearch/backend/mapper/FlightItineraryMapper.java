@@ -1,13 +1,18 @@
 package com.flightsearch.backend.mapper;
 
-import com.flightsearch.backend.client.AmadeusClient;
-import com.flightsearch.backend.model.Airport;
+import com.flightsearch.backend.airport.AirportResolver;
 import com.flightsearch.backend.model.flightoptions.Dictionaries;
 import com.flightsearch.backend.model.flightoptions.FlightOffer;
 import com.flightsearch.backend.model.flightoptions.Itinerary;
 import com.flightsearch.backend.model.flightoptions.Segment;
 import com.flightsearch.backend.model.flightoptions.TravelerPricing;
 import com.flightsearch.backend.model.flightoptions.TravelerPricing.FareDetailsBySegment;
+import com.flightsearch.backend.model.response.FareAmenity;
+import com.flightsearch.backend.model.response.ItineraryDetail;
+import com.flightsearch.backend.model.response.ItinerarySummary;
+import com.flightsearch.backend.model.response.SegmentDetail;
+import com.flightsearch.backend.model.response.Stop;
+import com.flightsearch.backend.model.response.TravelerFare;
 import com.flightsearch.backend.utils.DurationUtils;
 import org.springframework.stereotype.Component;
 
@@ -17,33 +22,23 @@ import java.util.*;
 @Component
 public class FlightItineraryMapper {
 
-    private final AmadeusClient amadeusClient;
+    private final AirportResolver airportResolver;
     private final DurationUtils durationUtils;
-    private final Map<String, String> airportCache = new HashMap<>();
 
     /**
      * Utility class for mapping itineraries into various data structures for
      * essential or detailed information.
      *
-     * @param amadeusClient used for fetching airport details if needed
+     * @param airportResolver used for airport names, prefetched before mapping
      * @param durationUtils used for formatting and calculating durations
      */
-    public FlightItineraryMapper(AmadeusClient amadeusClient, DurationUtils durationUtils) {
-        this.amadeusClient = amadeusClient;
+    public FlightItineraryMapper(AirportResolver airportResolver, DurationUtils durationUtils) {
+        this.airportResolver = airportResolver;
         this.durationUtils = durationUtils;
     }
 
     private String getAirportName(String airportCode) {
-        if (airportCache.containsKey(airportCode)) {
-            return airportCache.get(airportCode);
-        }
-        try {
-            Airport airport = amadeusClient.fetchAirport(airportCode);
-            airportCache.put(airportCode, airport.getName());
-            return airport.getName();
-        } catch (Exception e) {
-            return airportCode;
-        }
+        return airportResolver.getName(airportCode);
     }
 
     private String resolveAirlineName(String airlineCode, Dictionaries dictionaries) {
@@ -74,62 +69,47 @@ public class FlightItineraryMapper {
         return fareDetailsMap;
     }
 
-    private List<Map<String, Object>> buildAmenitiesList(List<FareDetailsBySegment.Amenity> amenities) {
-        List<Map<String, Object>> amenitiesList = new ArrayList<>();
+    private List<FareAmenity> buildAmenitiesList(List<FareDetailsBySegment.Amenity> amenities) {
+        List<FareAmenity> amenitiesList = new ArrayList<>();
         if (amenities == null) return amenitiesList;
         for (FareDetailsBySegment.Amenity am : amenities) {
-            Map<String, Object> amenMap = new LinkedHashMap<>();
-            amenMap.put("name", am.getDescription());
-            amenMap.put("chargeable", am.isChargeable());
-            amenitiesList.add(amenMap);
+            amenitiesList.add(new FareAmenity(am.getDescription(), am.isChargeable()));
         }
         return amenitiesList;
     }
 
     /**
-     * Builds a list of itinerary maps for essential (summary) data (no traveler fares).
+     * Builds a list of itinerary summaries for essential data (no traveler fares).
      * This method includes stops, times, and airline info.
      *
      * @param itineraries the flight itineraries
      * @param dictionaries flight data dictionary for mapping carrier/aircraft codes
      * @return list of itineraries in a summarized structure
      */
-    public List<Map<String, Object>> buildEssentialItineraryData(List<Itinerary> itineraries, Dictionaries dictionaries) {
-        List<Map<String, Object>> result = new ArrayList<>();
+    public List<ItinerarySummary> buildEssentialItineraryData(List<Itinerary> itineraries, Dictionaries dictionaries) {
+        List<ItinerarySummary> result = new ArrayList<>(itineraries.size());
         for (Itinerary itinerary : itineraries) {
-            Map<String, Object> itineraryMap = new LinkedHashMap<>();
             var segments = itinerary.getSegments();
 
             if (segments == null || segments.isEmpty()) {
-                result.add(itineraryMap);
+                result.add(ItinerarySummary.EMPTY);
                 continue;
             }
             var firstSegment = segments.getFirst();
             var lastSegment = segments.getLast();
 
-            itineraryMap.put("initialDeparture", firstSegment.getDeparture().getAt());
-            itineraryMap.put("finalArrival", lastSegment.getArrival().getAt());
-
-            itineraryMap.put("departureAirportCode", firstSegment.getDeparture().getIataCode());
-            itineraryMap.put("departureAirportName", getAirportName(firstSegment.getDeparture().getIataCode()));
-            itineraryMap.put("arrivalAirportCode", lastSegment.getArrival().getIataCode());
-            itineraryMap.put("arrivalAirportName", getAirportName(lastSegment.getArrival().getIataCode()));
-
             var mainAirlineCode = firstSegment.getCarrierCode();
-            var mainAirlineName = resolveAirlineName(mainAirlineCode, dictionaries);
-            itineraryMap.put("airlineCode", mainAirlineCode);
-            itineraryMap.put("airlineName", mainAirlineName);
-
+            String operatingAirlineCode = null;
+            String operatingAirlineName = null;
             if (firstSegment.getOperating() != null && firstSegment.getOperating().getCarrierCode() != null) {
-                var operatingAirlineCode = firstSegment.getOperating().getCarrierCode();
-                if (!operatingAirlineCode.equals(mainAirlineCode)) {
-                    itineraryMap.put("operatingAirlineCode", operatingAirlineCode);
-                    itineraryMap.put("operatingAirlineName", resolveAirlineName(operatingAirlineCode, dictionaries));
+                var operatingCode = firstSegment.getOperating().getCarrierCode();
+                if (!operatingCode.equals(mainAirlineCode)) {
+                    operatingAirlineCode = operatingCode;
+                    operatingAirlineName = resolveAirlineName(operatingCode, dictionaries);
                 }
             }
-            itineraryMap.put("totalFlightTime", durationUtils.formatIsoStringToReadable(itinerary.getDuration()));
 
-            List<Map<String, Object>> stops = new ArrayList<>();
+            List<Stop> stops = new ArrayList<>(segments.size() - 1);
             for (int i = 0; i < segments.size() - 1; i++) {
                 Segment segA = segments.get(i);
                 Segment segB = segments.get(i + 1);
@@ -137,97 +117,110 @@ public class FlightItineraryMapper {
                         segA.getArrival().getAt(),
                         segB.getDeparture().getAt()
                 );
-                Map<String, Object> stopInfo = new LinkedHashMap<>();
-                stopInfo.put("airportCode", segA.getArrival().getIataCode());
-                stopInfo.put("layoverTime", durationUtils.formatDurationToReadable(layover));
-                stops.add(stopInfo);
-            }
-            if (!stops.isEmpty()) {
-                itineraryMap.put("stops", stops);
+                stops.add(new Stop(segA.getArrival().getIataCode(), durationUtils.formatDurationToReadable(layover)));
             }
-            result.add(itineraryMap);
+
+            result.add(new ItinerarySummary(
+                    firstSegment.getDeparture().getAt(),
+                    lastSegment.getArrival().getAt(),
+                    firstSegment.getDeparture().getIataCode(),
+                    getAirportName(firstSegment.getDeparture().getIataCode()),
+                    lastSegment.getArrival().getIataCode(),
+                    getAirportName(lastSegment.getArrival().getIataCode()),
+                    mainAirlineCode,
+                    resolveAirlineName(mainAirlineCode, dictionaries),
+                    operatingAirlineCode,
+                    operatingAirlineName,
+                    durationUtils.formatIsoStringToReadable(itinerary.getDuration()),
+                    stops.isEmpty() ? null : stops
+            ));
         }
         return result;
     }
 
     /**
-     * Builds a list of itinerary maps for detailed flight data (includes traveler fares, amenities, etc.).
+     * Builds a list of itinerary details for detailed flight data (includes traveler fares, amenities, etc.).
      *
      * @param offer the full FlightOffer containing traveler pricing
      * @param dictionaries flight data dictionary
      * @return list of itineraries in a detailed structure
      */
-    public List<Map<String, Object>> buildDetailedItineraryData(FlightOffer offer, Dictionaries dictionaries) {
-        List<Map<String, Object>> result = new ArrayList<>();
+    public List<ItineraryDetail> buildDetailedItineraryData(FlightOffer offer, Dictionaries dictionaries) {
+        List<ItineraryDetail> result = new ArrayList<>();
         List<Itinerary> itineraries = offer.getItineraries();
         if (itineraries == null) return result;
         var fareDetailsMap = buildFareDetailsMap(offer);
 
         for (Itinerary itinerary : itineraries) {
-            Map<String, Object> itineraryMap = new LinkedHashMap<>();
             var segments = itinerary.getSegments();
 
             if (segments.isEmpty()) {
-                result.add(itineraryMap);
+                result.add(ItineraryDetail.EMPTY);
                 continue;
             }
             var firstSegment = segments.getFirst();
             var lastSegment = segments.getLast();
 
-            itineraryMap.put("initialDeparture", firstSegment.getDeparture().getAt());
-            itineraryMap.put("finalArrival", lastSegment.getArrival().getAt());
-            itineraryMap.put("departureAirportCode", firstSegment.getDeparture().getIataCode());
-            itineraryMap.put("departureAirportName", getAirportName(firstSegment.getDeparture().getIataCode()));
-            itineraryMap.put("arrivalAirportCode", lastSegment.getArrival().getIataCode());
-            itineraryMap.put("arrivalAirportName", getAirportName(lastSegment.getArrival().getIataCode()));
-            itineraryMap.put("totalFlightTime", durationUtils.formatIsoStringToReadable(itinerary.getDuration()));
-
-            List<Map<String, Object>> segmentDetails = new ArrayList<>();
+            List<SegmentDetail> segmentDetails = new ArrayList<>(segments.size());
             for (int i = 0; i < segments.size(); i++) {
                 Segment seg = segments.get(i);
-                Map<String, Object> segDetail = new LinkedHashMap<>();
-                segDetail.put("departureTime", seg.getDeparture().getAt());
-                segDetail.put("arrivalTime", seg.getArrival().getAt());
                 String mainAirlineCode = seg.getCarrierCode();
-                String mainAirlineName = resolveAirlineName(mainAirlineCode, dictionaries);
-                segDetail.put("airlineCode", mainAirlineCode);
-                segDetail.put("airlineName", mainAirlineName);
-                segDetail.put("flightNumber", seg.getNumber());
-
+                String operatingAirlineCode = null;
+                String operatingAirlineName = null;
                 if (seg.getOperating() != null && seg.getOperating().getCarrierCode() != null) {
                     String operatingCode = seg.getOperating().getCarrierCode();
                     if (!operatingCode.equals(mainAirlineCode)) {
-                        segDetail.put("operatingAirlineCode", operatingCode);
-                        segDetail.put("operatingAirlineName", resolveAirlineName(operatingCode, dictionaries));
+                        operatingAirlineCode = operatingCode;
+                        operatingAirlineName = resolveAirlineName(operatingCode, dictionaries);
                     }
                 }
-                segDetail.put("aircraftType", resolveAircraftName(seg.getAircraft().getCode(), dictionaries));
 
                 List<FareDetailsBySegment> thisSegmentFares =
                         fareDetailsMap.getOrDefault(String.valueOf(seg.getId()), Collections.emptyList());
-                List<Map<String, Object>> travelerFaresList = new ArrayList<>();
+                List<TravelerFare> travelerFaresList = new ArrayList<>(thisSegmentFares.size());
                 for (FareDetailsBySegment fareSeg : thisSegmentFares) {
-                    Map<String, Object> fareMap = new LinkedHashMap<>();
-                    fareMap.put("cabin", fareSeg.getCabin());
-                    fareMap.put("class", fareSeg.getClassName());
-                    fareMap.put("amenities", buildAmenitiesList(fareSeg.getAmenities()));
-                    travelerFaresList.add(fareMap);
+                    travelerFaresList.add(new TravelerFare(
+                            fareSeg.getCabin(),
+                            fareSeg.getClassName(),
+                            buildAmenitiesList(fareSeg.getAmenities())
+                    ));
                 }
-                segDetail.put("travelerFares", travelerFaresList);
 
+                String layoverTime = null;
                 if (i < segments.size() - 1) {
                     Segment nextSeg = segments.get(i + 1);
                     Duration layover = durationUtils.calculateDurationBetween(
                             seg.getArrival().getAt(),
                             nextSeg.getDeparture().getAt()
                     );
-                    segDetail.put("layoverTime", durationUtils.formatDurationToReadable(layover));
+                    layoverTime = durationUtils.formatDurationToReadable(layover);
                 }
-                segmentDetails.add(segDetail);
+
+                segmentDetails.add(new SegmentDetail(
+                        seg.getDeparture().getAt(),
+                        seg.getArrival().getAt(),
+                        mainAirlineCode,
+                        resolveAirlineName(mainAirlineCode, dictionaries),
+                        seg.getNumber(),
+                        operatingAirlineCode,
+                        operatingAirlineName,
+                        resolveAircraftName(seg.getAircraft().getCode(), dictionaries),
+                        travelerFaresList,
+                        layoverTime
+                ));
             }
-            itineraryMap.put("segments", segmentDetails);
-            result.add(itineraryMap);
+
+            result.add(new ItineraryDetail(
+                    firstSegment.getDeparture().getAt(),
+                    lastSegment.getArrival().getAt(),
+                    firstSegment.getDeparture().getIataCode(),
+                    getAirportName(firstSegment.getDeparture().getIataCode()),
+                    lastSegment.getArrival().getIataCode(),
+                    getAirportName(lastSegment.getArrival().getIataCode()),
+                    durationUtils.formatIsoStringToReadable(itinerary.getDuration()),
+                    segmentDetails
+            ));
         }
         return result;
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,10 @@ package com.flightsearch.backend.mapper;
 import com.flightsearch.backend.model.flightoptions.Dictionaries;
 import com.flightsearch.backend.model.flightoptions.FlightOffer;
 import com.flightsearch.backend.model.flightoptions.TravelerPricing;
+import com.flightsearch.backend.model.response.FeeDetail;
+import com.flightsearch.backend.model.response.FlightDetail;
+import com.flightsearch.backend.model.response.PriceBreakdown;
+import com.flightsearch.backend.model.response.TravelerPrice;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -26,50 +30,43 @@ public class FlightOfferDetailMapper {
      *
      * @param offer the FlightOffer to map
      * @param dictionaries dictionaries to map carrier/aircraft codes
-     * @return a map containing detailed flight information
+     * @return detailed flight information
      */
-    public Map<String, Object> buildDetailedFlightOption(
+    public FlightDetail buildDetailedFlightOption(
             FlightOffer offer,
             Dictionaries dictionaries
     ) {
-        Map<String, Object> detailMap = new LinkedHashMap<>();
-        detailMap.put("id", offer.getId());
-        detailMap.put("itineraries", itineraryMapper.buildDetailedItineraryData(offer, dictionaries));
-        detailMap.put("priceBreakdown", buildPriceBreakdown(offer));
-        return detailMap;
+        return new FlightDetail(
+                offer.getId(),
+                itineraryMapper.buildDetailedItineraryData(offer, dictionaries),
+                buildPriceBreakdown(offer)
+        );
     }
 
-    private Map<String, Object> buildPriceBreakdown(FlightOffer offer) {
-        Map<String, Object> priceInfo = new LinkedHashMap<>();
-        if (offer.getPrice() == null) return priceInfo;
-        priceInfo.put("basePrice", offer.getPrice().getBase());
-        priceInfo.put("totalPrice", offer.getPrice().getTotal());
-        priceInfo.put("currency", offer.getPrice().getCurrency());
+    private PriceBreakdown buildPriceBreakdown(FlightOffer offer) {
+        if (offer.getPrice() == null) return PriceBreakdown.EMPTY;
 
-        List<Map<String, Object>> feesList = new ArrayList<>();
+        List<FeeDetail> feesList = new ArrayList<>();
         if (offer.getPrice().getFees() != null) {
-            offer.getPrice().getFees().forEach(fee -> {
-                Map<String, Object> feeMap = new HashMap<>();
-                feeMap.put("type", fee.getType());
-                feeMap.put("amount", fee.getAmount());
-                feesList.add(feeMap);
-            });
+            offer.getPrice().getFees().forEach(fee -> feesList.add(new FeeDetail(fee.getAmount(), fee.getType())));
         }
-        priceInfo.put("fees", feesList);
 
-        List<Map<String, Object>> pricePerTraveler = new ArrayList<>();
+        List<TravelerPrice> pricePerTraveler = new ArrayList<>();
         if (offer.getTravelerPricings() != null) {
             for (TravelerPricing tp : offer.getTravelerPricings()) {
-                Map<String, Object> travelerPriceMap = new LinkedHashMap<>();
-                travelerPriceMap.put("travelerId", tp.getTravelerId());
-                travelerPriceMap.put("travelerType", tp.getTravelerType());
-                if (tp.getPrice() != null) {
-                    travelerPriceMap.put("price", tp.getPrice().getTotal());
-                }
-                pricePerTraveler.add(travelerPriceMap);
+                pricePerTraveler.add(new TravelerPrice(
+                        tp.getTravelerId(),
+                        tp.getTravelerType(),
+                        tp.getPrice() != null ? tp.getPrice().getTotal() : null
+                ));
             }
         }
-        priceInfo.put("pricePerTraveler", pricePerTraveler);
-        return priceInfo;
+        return new PriceBreakdown(
+                offer.getPrice().getBase(),
+                offer.getPrice().getTotal(),
+                offer.getPrice().getCurrency(),
+                feesList,
+                pricePerTraveler
+        );
     }
 }
@@ -2,6 +2,7 @@ package com.flightsearch.backend.mapper;
 
 import com.flightsearch.backend.model.flightoptions.Dictionaries;
 import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.response.FlightSummary;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -28,31 +29,35 @@ public class FlightOfferMapper {
      * @param dictionaries dictionary data for carriers/aircraft
      * @return list of mapped flights with ID, itineraries summary, and price info
      */
-    public List<Map<String, Object>> buildEssentialFlightList(
+    public List<FlightSummary> buildEssentialFlightList(
             List<FlightOffer> flightOffers,
             Dictionaries dictionaries
     ) {
-        List<Map<String, Object>> result = new ArrayList<>();
         if (flightOffers == null || flightOffers.isEmpty()) {
-            return result;
+            return new ArrayList<>();
         }
+        List<FlightSummary> result = new ArrayList<>(flightOffers.size());
         for (FlightOffer offer : flightOffers) {
             if (offer.getItineraries() == null || offer.getItineraries().isEmpty()) {
                 continue;
             }
-            Map<String, Object> flightMap = new LinkedHashMap<>();
-            flightMap.put("id", offer.getId());
-            flightMap.put("itineraries",
-                    itineraryMapper.buildEssentialItineraryData(offer.getItineraries(), dictionaries));
+            String totalPrice = null;
+            String currency = null;
             if (offer.getPrice() != null) {
-                flightMap.put("totalPrice", offer.getPrice().getGrandTotal());
-                flightMap.put("currency", offer.getPrice().getCurrency());
+                totalPrice = offer.getPrice().getGrandTotal();
+                currency = offer.getPrice().getCurrency();
             }
+            String pricePerTraveler = null;
             if (offer.getTravelerPricings() != null && !offer.getTravelerPricings().isEmpty()) {
-                flightMap.put("pricePerTraveler",
-                        offer.getTravelerPricings().getFirst().getPrice().getTotal());
+                pricePerTraveler = offer.getTravelerPricings().getFirst().getPrice().getTotal();
             }
-            result.add(flightMap);
+            result.add(new FlightSummary(
+                    offer.getId(),
+                    itineraryMapper.buildEssentialItineraryData(offer.getItineraries(), dictionaries),
+                    totalPrice,
+                    currency,
+                    pricePerTraveler
+            ));
         }
         return result;
     }
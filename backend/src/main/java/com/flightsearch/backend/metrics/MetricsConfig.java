@@ -0,0 +1,73 @@
+package com.flightsearch.backend.metrics;
+
+import com.flightsearch.backend.cache.SearchResultCache;
+import com.flightsearch.backend.client.CircuitBreaker;
+import com.flightsearch.backend.client.UpstreamLimiters;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes the counters the search result cache already keeps, under the same cache
+     * lookup meter the other caches report to.
+     */
+    @Bean
+    public MeterBinder searchResultCacheMetrics(SearchResultCache searchResultCache) {
+        return registry -> {
+            FunctionCounter.builder("flightsearch.cache.lookups", searchResultCache, cache -> cache.getStats().hits())
+                    .description("Cache lookups by cache and result")
+                    .tag("cache", SearchMetrics.RESULTS_CACHE)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("flightsearch.cache.lookups", searchResultCache, cache -> cache.getStats().misses())
+                    .description("Cache lookups by cache and result")
+                    .tag("cache", SearchMetrics.RESULTS_CACHE)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("flightsearch.cache.evictions", searchResultCache, cache -> cache.getStats().evictions())
+                    .tag("cache", SearchMetrics.RESULTS_CACHE)
+                    .register(registry);
+            Gauge.builder("flightsearch.cache.entries", searchResultCache, cache -> cache.getStats().entries())
+                    .tag("cache", SearchMetrics.RESULTS_CACHE)
+                    .register(registry);
+            Gauge.builder("flightsearch.cache.estimated.bytes", searchResultCache, cache -> cache.getStats().estimatedBytes())
+                    .tag("cache", SearchMetrics.RESULTS_CACHE)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the queue depth, concurrency limit and rejections of each Amadeus endpoint
+     * limiter, and the state of the circuit breaker.
+     */
+    @Bean
+    public MeterBinder upstreamMetrics(UpstreamLimiters upstreamLimiters, CircuitBreaker circuitBreaker) {
+        return registry -> {
+            for (String endpoint : upstreamLimiters.getStats().keySet()) {
+                Gauge.builder("amadeus.limiter.concurrency.limit", upstreamLimiters,
+                                limiters -> limiters.getStats().get(endpoint).concurrencyLimit())
+                        .tag("endpoint", endpoint)
+                        .register(registry);
+                Gauge.builder("amadeus.limiter.queue.depth", upstreamLimiters,
+                                limiters -> limiters.getStats().get(endpoint).queueDepth())
+                        .tag("endpoint", endpoint)
+                        .register(registry);
+                FunctionCounter.builder("amadeus.limiter.rejected", upstreamLimiters,
+                                limiters -> limiters.getStats().get(endpoint).rejected())
+                        .tag("endpoint", endpoint)
+                        .register(registry);
+            }
+            FunctionCounter.builder("amadeus.circuit.short.circuited", circuitBreaker,
+                            breaker -> breaker.getStats().shortCircuited())
+                    .register(registry);
+            Gauge.builder("amadeus.circuit.open", circuitBreaker,
+                            breaker -> "OPEN".equals(breaker.getStats().state()) ? 1 : 0)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.flightsearch.backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class SearchMetrics {
+
+    public static final String RESULTS_CACHE = "results";
+    public static final String SORTED_RESULTS_CACHE = "sorted_results";
+    public static final String AIRPORT_NAMES_CACHE = "airport_names";
+
+    private final MeterRegistry registry;
+    private final Map<SearchStage, Map<StageOutcome, Timer>> stageTimers = new EnumMap<>(SearchStage.class);
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Counter tokenRefreshes;
+
+    /**
+     * SearchMetrics records where the time of a flight search goes and how the caches and
+     * Amadeus behave, on the application MeterRegistry. Stage timers are tagged with the
+     * outcome of each run, so failed upstream calls are not hidden from the latency, and
+     * publish a percentile histogram so p50/p99 can be derived from the scraped buckets.
+     *
+     * @param registry the registry the meters are registered on
+     */
+    public SearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (SearchStage stage : SearchStage.values()) {
+            Map<StageOutcome, Timer> timers = new EnumMap<>(StageOutcome.class);
+            for (StageOutcome outcome : StageOutcome.values()) {
+                timers.put(outcome, Timer.builder("flightsearch.stage")
+                        .description("Time spent in one stage of a flight search")
+                        .tag("stage", stage.tag())
+                        .tag("outcome", outcome.tag())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(registry));
+            }
+            stageTimers.put(stage, timers);
+        }
+        this.tokenRefreshes = Counter.builder("amadeus.token.refreshes")
+                .description("Access tokens fetched from Amadeus")
+                .register(registry);
+    }
+
+    /**
+     * Records one successful run of a stage that started at the given {@link System#nanoTime()}.
+     *
+     * @param stage the stage that finished
+     * @param startNanos when the stage started
+     */
+    public void record(SearchStage stage, long startNanos) {
+        record(stage, startNanos, StageOutcome.SUCCESS);
+    }
+
+    /**
+     * Records one run of a stage that started at the given {@link System#nanoTime()}.
+     *
+     * @param stage the stage that ended
+     * @param startNanos when the stage started
+     * @param outcome how the stage ended
+     */
+    public void record(SearchStage stage, long startNanos, StageOutcome outcome) {
+        stageTimers.get(stage).get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts one lookup of a cache.
+     *
+     * @param cache the cache name, one of the *_CACHE constants
+     * @param hit whether the lookup was answered from the cache
+     */
+    public void cacheLookup(String cache, boolean hit) {
+        String result = hit ? "hit" : "miss";
+        counters.computeIfAbsent("cache:" + cache + ":" + result, ignored -> Counter.builder("flightsearch.cache.lookups")
+                .description("Cache lookups by cache and result")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry)
+        ).increment();
+    }
+
+    /**
+     * Counts one response received from Amadeus.
+     *
+     * @param endpoint the endpoint that answered
+     * @param status the HTTP status code
+     */
+    public void upstreamResponse(String endpoint, int status) {
+        counters.computeIfAbsent("response:" + endpoint + ":" + status, ignored -> Counter.builder("amadeus.responses")
+                .description("Amadeus responses by endpoint and status code")
+                .tag("endpoint", endpoint)
+                .tag("status", Integer.toString(status))
+                .register(registry)
+        ).increment();
+    }
+
+    /**
+     * Counts one access token fetched from Amadeus.
+     */
+    public void tokenRefreshed() {
+        tokenRefreshes.increment();
+    }
+}
@@ -0,0 +1,30 @@
+package com.flightsearch.backend.metrics;
+
+/**
+ * Stages of a flight search that are timed separately, with the tag value each one is
+ * reported under.
+ */
+public enum SearchStage {
+    AIRPORT_RESOLUTION("airport_resolution"),
+    FETCH("fetch"),
+    PARSE("parse"),
+    AIRPORT_NAMES("airport_names"),
+    MAPPING("mapping"),
+    FILTERING("filtering"),
+    SORTING("sorting"),
+    PAGINATION("pagination"),
+    DETAIL_MAPPING("detail_mapping");
+
+    private final String tag;
+
+    SearchStage(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return the value of the "stage" tag
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,24 @@
+package com.flightsearch.backend.metrics;
+
+/**
+ * How a timed run of a search stage ended, with the tag value each outcome is reported
+ * under.
+ */
+public enum StageOutcome {
+    SUCCESS("success"),
+    ERROR("error"),
+    CANCELLED("cancelled");
+
+    private final String tag;
+
+    StageOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return the value of the "outcome" tag
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,62 @@
+package com.flightsearch.backend.model;
+
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side filters of a flight search. Every field is optional; null (or an empty set)
+ * means the filter does not apply. Time windows refer to the outbound itinerary and wrap
+ * around midnight when {@code from} is after {@code to} (e.g. 22:00 to 02:00).
+ *
+ * @param maxPrice highest accepted total price, in the currency of the search
+ * @param maxStops highest accepted number of stops on any itinerary
+ * @param airlines airline codes of which at least one must operate an itinerary
+ * @param excludedAirlines airline codes that must not operate any itinerary
+ * @param departureFrom earliest accepted outbound departure time
+ * @param departureTo latest accepted outbound departure time
+ * @param arrivalFrom earliest accepted outbound arrival time
+ * @param arrivalTo latest accepted outbound arrival time
+ * @param maxDurationMinutes highest accepted total flight time, in minutes
+ */
+public record FlightFilter(
+        Double maxPrice,
+        Integer maxStops,
+        Set<String> airlines,
+        Set<String> excludedAirlines,
+        LocalTime departureFrom,
+        LocalTime departureTo,
+        LocalTime arrivalFrom,
+        LocalTime arrivalTo,
+        Integer maxDurationMinutes
+) {
+    public static final FlightFilter NONE =
+            new FlightFilter(null, null, null, null, null, null, null, null, null);
+
+    public FlightFilter {
+        airlines = normalizeCodes(airlines);
+        excludedAirlines = normalizeCodes(excludedAirlines);
+    }
+
+    /**
+     * @return true if no filter applies
+     */
+    public boolean isEmpty() {
+        return maxPrice == null && maxStops == null
+                && airlines.isEmpty() && excludedAirlines.isEmpty()
+                && departureFrom == null && departureTo == null
+                && arrivalFrom == null && arrivalTo == null
+                && maxDurationMinutes == null;
+    }
+
+    private static Set<String> normalizeCodes(Set<String> codes) {
+        if (codes == null) {
+            return Set.of();
+        }
+        return codes.stream()
+                .filter(code -> code != null && !code.isBlank())
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
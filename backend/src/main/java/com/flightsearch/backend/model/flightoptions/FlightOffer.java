@@ -1,13 +1,19 @@
 package com.flightsearch.backend.model.flightoptions;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class FlightOffer {
     private String type;
+    @With
     private String id;
     private String source;
     private boolean instantTicketingRequired;
@@ -1,5 +1,6 @@
 package com.flightsearch.backend.model.flightoptions;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 import java.util.List;
@@ -21,6 +22,7 @@ public class TravelerPricing {
         private String fareBasis;
         private String brandedFare;
         private String brandedFareLabel;
+        @JsonAlias("class")
         private String className;
         private IncludedCheckedBags includedCheckedBags;
         private List<Amenity> amenities;
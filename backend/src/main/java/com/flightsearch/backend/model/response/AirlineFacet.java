@@ -0,0 +1,12 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AirlineFacet(
+        String code,
+        String name,
+        int count,
+        String minPrice
+) {
+}
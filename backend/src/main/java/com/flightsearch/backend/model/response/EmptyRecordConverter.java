@@ -0,0 +1,21 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.databind.util.StdConverter;
+
+import java.util.Map;
+
+/**
+ * Writes the EMPTY instance of a response record as an empty JSON object, the way the
+ * map-based mappers wrote an itinerary without segments or an offer without a price. Every
+ * other value is written unchanged, null components included.
+ */
+public class EmptyRecordConverter extends StdConverter<Object, Object> {
+
+    @Override
+    public Object convert(Object value) {
+        if (value == ItinerarySummary.EMPTY || value == ItineraryDetail.EMPTY || value == PriceBreakdown.EMPTY) {
+            return Map.of();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,7 @@
+package com.flightsearch.backend.model.response;
+
+public record FareAmenity(
+        String name,
+        boolean chargeable
+) {
+}
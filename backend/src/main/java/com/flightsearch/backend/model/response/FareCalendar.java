@@ -0,0 +1,12 @@
+package com.flightsearch.backend.model.response;
+
+import java.util.List;
+
+public record FareCalendar(
+        String currency,
+        List<String> departureDates,
+        List<String> returnDates,
+        List<FareCalendarCell> cells,
+        boolean complete
+) {
+}
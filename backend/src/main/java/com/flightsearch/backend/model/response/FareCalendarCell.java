@@ -0,0 +1,14 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FareCalendarCell(
+        String departureDate,
+        String returnDate,
+        FareStatus status,
+        String cheapestPrice,
+        String flightId,
+        String searchId
+) {
+}
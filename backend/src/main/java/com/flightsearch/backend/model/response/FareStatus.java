@@ -0,0 +1,3 @@
+package com.flightsearch.backend.model.response;
+
+public enum FareStatus { FOUND, NO_FLIGHTS, TIMED_OUT, FAILED }
@@ -0,0 +1,7 @@
+package com.flightsearch.backend.model.response;
+
+public record FeeDetail(
+        String amount,
+        String type
+) {
+}
@@ -0,0 +1,12 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+public record FlightDetail(
+        String id,
+        @JsonSerialize(contentConverter = EmptyRecordConverter.class) List<ItineraryDetail> itineraries,
+        @JsonSerialize(converter = EmptyRecordConverter.class) PriceBreakdown priceBreakdown
+) {
+}
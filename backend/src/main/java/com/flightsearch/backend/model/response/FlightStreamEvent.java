@@ -0,0 +1,38 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FlightStreamEvent(
+        String type,
+        FlightSummary flight,
+        Map<String, Object> summary,
+        String error
+) {
+    public static final String FLIGHT = "flight";
+    public static final String SUMMARY = "summary";
+    public static final String ERROR = "error";
+
+    public static FlightStreamEvent flight(FlightSummary flight) {
+        return new FlightStreamEvent(FLIGHT, flight, null, null);
+    }
+
+    public static FlightStreamEvent summary(Map<String, Object> summary) {
+        return new FlightStreamEvent(SUMMARY, null, summary, null);
+    }
+
+    public static FlightStreamEvent error(String message) {
+        return new FlightStreamEvent(ERROR, null, null, message);
+    }
+
+    /**
+     * @return the payload of the event on its own, as sent in a Server-Sent Event
+     */
+    public Object data() {
+        if (flight != null) return flight;
+        if (summary != null) return summary;
+        return Map.of("message", String.valueOf(error));
+    }
+}
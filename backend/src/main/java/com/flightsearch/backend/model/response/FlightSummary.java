@@ -0,0 +1,15 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+public record FlightSummary(
+        String id,
+        @JsonSerialize(contentConverter = EmptyRecordConverter.class) List<ItinerarySummary> itineraries,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String totalPrice,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String currency,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String pricePerTraveler
+) {
+}
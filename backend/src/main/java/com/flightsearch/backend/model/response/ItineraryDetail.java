@@ -0,0 +1,17 @@
+package com.flightsearch.backend.model.response;
+
+import java.util.List;
+
+public record ItineraryDetail(
+        String initialDeparture,
+        String finalArrival,
+        String departureAirportCode,
+        String departureAirportName,
+        String arrivalAirportCode,
+        String arrivalAirportName,
+        String totalFlightTime,
+        List<SegmentDetail> segments
+) {
+    public static final ItineraryDetail EMPTY =
+            new ItineraryDetail(null, null, null, null, null, null, null, null);
+}
@@ -0,0 +1,23 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record ItinerarySummary(
+        String initialDeparture,
+        String finalArrival,
+        String departureAirportCode,
+        String departureAirportName,
+        String arrivalAirportCode,
+        String arrivalAirportName,
+        String airlineCode,
+        String airlineName,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String operatingAirlineCode,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String operatingAirlineName,
+        String totalFlightTime,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<Stop> stops
+) {
+    public static final ItinerarySummary EMPTY =
+            new ItinerarySummary(null, null, null, null, null, null, null, null, null, null, null, null);
+}
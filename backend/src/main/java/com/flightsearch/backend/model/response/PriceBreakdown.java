@@ -0,0 +1,13 @@
+package com.flightsearch.backend.model.response;
+
+import java.util.List;
+
+public record PriceBreakdown(
+        String basePrice,
+        String totalPrice,
+        String currency,
+        List<FeeDetail> fees,
+        List<TravelerPrice> pricePerTraveler
+) {
+    public static final PriceBreakdown EMPTY = new PriceBreakdown(null, null, null, null, null);
+}
@@ -0,0 +1,8 @@
+package com.flightsearch.backend.model.response;
+
+public record PriceBucket(
+        String from,
+        String to,
+        int count
+) {
+}
@@ -0,0 +1,16 @@
+package com.flightsearch.backend.model.response;
+
+import java.util.List;
+
+/**
+ * Aggregates over all flights of a search, for building a filter sidebar: flights and
+ * cheapest price per airline and per stop count, a price histogram, and the number of
+ * outbound departures in each hour of the day (index 0 to 23).
+ */
+public record SearchFacets(
+        List<AirlineFacet> airlines,
+        List<StopsFacet> stops,
+        List<PriceBucket> prices,
+        int[] departureHours
+) {
+}
@@ -0,0 +1,19 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record SegmentDetail(
+        String departureTime,
+        String arrivalTime,
+        String airlineCode,
+        String airlineName,
+        String flightNumber,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String operatingAirlineCode,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String operatingAirlineName,
+        String aircraftType,
+        List<TravelerFare> travelerFares,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String layoverTime
+) {
+}
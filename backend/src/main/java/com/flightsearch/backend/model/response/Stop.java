@@ -0,0 +1,7 @@
+package com.flightsearch.backend.model.response;
+
+public record Stop(
+        String airportCode,
+        String layoverTime
+) {
+}
@@ -0,0 +1,11 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StopsFacet(
+        int stops,
+        int count,
+        String minPrice
+) {
+}
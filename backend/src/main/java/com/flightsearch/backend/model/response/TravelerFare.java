@@ -0,0 +1,12 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record TravelerFare(
+        String cabin,
+        @JsonProperty("class") String className,
+        List<FareAmenity> amenities
+) {
+}
@@ -0,0 +1,10 @@
+package com.flightsearch.backend.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record TravelerPrice(
+        String travelerId,
+        String travelerType,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String price
+) {
+}
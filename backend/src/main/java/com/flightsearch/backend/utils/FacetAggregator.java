@@ -0,0 +1,136 @@
+package com.flightsearch.backend.utils;
+
+import com.flightsearch.backend.model.flightoptions.Dictionaries;
+import com.flightsearch.backend.model.response.AirlineFacet;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.model.response.ItinerarySummary;
+import com.flightsearch.backend.model.response.PriceBucket;
+import com.flightsearch.backend.model.response.SearchFacets;
+import com.flightsearch.backend.model.response.StopsFacet;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class FacetAggregator {
+
+    private static final int PRICE_BUCKETS = 10;
+    private static final int HOURS = 24;
+
+    private FacetAggregator() {
+    }
+
+    /**
+     * Computes the facets of one cached result in a single pass over its flights, reading
+     * prices from the sort index instead of parsing them again. A flight counts once for
+     * every airline marketing one of its itineraries, and under the largest stop count of
+     * its itineraries. Flights without a price are counted but left out of the minimum
+     * prices and the histogram. The histogram has up to ten equally wide buckets from the
+     * lowest to the highest price; narrow price ranges get fewer, so no bucket starts
+     * above the highest price.
+     *
+     * @param flights the mapped flights, in cache order
+     * @param sortIndex the sort keys already computed for the same flights
+     * @param dictionaries dictionaries of the search, for airline names
+     * @return the facets
+     */
+    public static SearchFacets aggregate(List<FlightSummary> flights, SortIndex sortIndex, Dictionaries dictionaries) {
+        long[] priceCents = sortIndex.keysFor("price");
+        long minCents = Long.MAX_VALUE;
+        long maxCents = Long.MIN_VALUE;
+        for (long cents : priceCents) {
+            if (cents != SortIndex.MISSING_KEY) {
+                minCents = Math.min(minCents, cents);
+                maxCents = Math.max(maxCents, cents);
+            }
+        }
+        long bucketWidth = minCents > maxCents ? 1 : (maxCents - minCents) / PRICE_BUCKETS + 1;
+        int bucketCount = minCents > maxCents ? 0 : (int) ((maxCents - minCents) / bucketWidth) + 1;
+
+        Map<String, long[]> airlines = new HashMap<>();
+        Map<Integer, long[]> stops = new HashMap<>();
+        int[] priceBuckets = new int[bucketCount];
+        int[] departureHours = new int[HOURS];
+
+        for (int i = 0; i < flights.size(); i++) {
+            long cents = priceCents[i];
+            List<ItinerarySummary> itineraries = flights.get(i).itineraries();
+            int flightStops = 0;
+            if (itineraries != null) {
+                for (int j = 0; j < itineraries.size(); j++) {
+                    ItinerarySummary itinerary = itineraries.get(j);
+                    flightStops = Math.max(flightStops, itinerary.stops() == null ? 0 : itinerary.stops().size());
+                    String airline = itinerary.airlineCode();
+                    if (airline != null && !marketedEarlier(itineraries, j, airline)) {
+                        count(airlines.computeIfAbsent(airline, ignored -> newCounter()), cents);
+                    }
+                }
+                if (!itineraries.isEmpty()) {
+                    long minute = FilterIndex.minuteOfDay(itineraries.getFirst().initialDeparture());
+                    if (minute >= 0 && minute < HOURS * 60) {
+                        departureHours[(int) (minute / 60)]++;
+                    }
+                }
+            }
+            count(stops.computeIfAbsent(flightStops, ignored -> newCounter()), cents);
+            if (cents != SortIndex.MISSING_KEY) {
+                priceBuckets[(int) ((cents - minCents) / bucketWidth)]++;
+            }
+        }
+
+        List<AirlineFacet> airlineFacets = new ArrayList<>(airlines.size());
+        airlines.forEach((code, counter) -> airlineFacets.add(
+                new AirlineFacet(code, airlineName(code, dictionaries), (int) counter[0], formatPrice(counter[1]))));
+        airlineFacets.sort(Comparator.comparingInt(AirlineFacet::count).reversed().thenComparing(AirlineFacet::code));
+
+        List<StopsFacet> stopsFacets = new ArrayList<>(stops.size());
+        stops.forEach((count, counter) ->
+                stopsFacets.add(new StopsFacet(count, (int) counter[0], formatPrice(counter[1]))));
+        stopsFacets.sort(Comparator.comparingInt(StopsFacet::stops));
+
+        List<PriceBucket> prices = new ArrayList<>(priceBuckets.length);
+        for (int bucket = 0; bucket < priceBuckets.length; bucket++) {
+            long from = minCents + bucket * bucketWidth;
+            long to = bucket == priceBuckets.length - 1 ? maxCents : from + bucketWidth - 1;
+            prices.add(new PriceBucket(formatPrice(from), formatPrice(to), priceBuckets[bucket]));
+        }
+
+        return new SearchFacets(
+                List.copyOf(airlineFacets), List.copyOf(stopsFacets), List.copyOf(prices), departureHours);
+    }
+
+    private static boolean marketedEarlier(List<ItinerarySummary> itineraries, int index, String airline) {
+        for (int j = 0; j < index; j++) {
+            if (airline.equals(itineraries.get(j).airlineCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A counter is {flights, lowest price in cents}.
+     */
+    private static long[] newCounter() {
+        return new long[]{0, SortIndex.MISSING_KEY};
+    }
+
+    private static void count(long[] counter, long cents) {
+        counter[0]++;
+        counter[1] = Math.min(counter[1], cents);
+    }
+
+    private static String airlineName(String code, Dictionaries dictionaries) {
+        if (dictionaries == null || dictionaries.getCarriers() == null) {
+            return code;
+        }
+        return dictionaries.getCarriers().getOrDefault(code, code);
+    }
+
+    private static String formatPrice(long cents) {
+        return cents == SortIndex.MISSING_KEY ? null : BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+}
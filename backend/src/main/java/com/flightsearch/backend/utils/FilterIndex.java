@@ -0,0 +1,282 @@
+package com.flightsearch.backend.utils;
+
+import com.flightsearch.backend.model.FlightFilter;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.model.response.ItinerarySummary;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FilterIndex {
+
+    private static final int INDEX_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final int LAST_MINUTE_OF_DAY = 24 * 60 - 1;
+    private static final int MAX_VIEWS = 32;
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    private final int size;
+    private final Map<String, BitSet> byAirline;
+    private final BitSet[] byStops;
+    private final long[] byPrice;
+    private final long[] byDuration;
+    private final long[] byDepartureMinute;
+    private final long[] byArrivalMinute;
+    private final Map<ViewKey, int[]> views = new ConcurrentHashMap<>();
+
+    private FilterIndex(
+            int size,
+            Map<String, BitSet> byAirline,
+            BitSet[] byStops,
+            long[] byPrice,
+            long[] byDuration,
+            long[] byDepartureMinute,
+            long[] byArrivalMinute
+    ) {
+        this.size = size;
+        this.byAirline = byAirline;
+        this.byStops = byStops;
+        this.byPrice = byPrice;
+        this.byDuration = byDuration;
+        this.byDepartureMinute = byDepartureMinute;
+        this.byArrivalMinute = byArrivalMinute;
+    }
+
+    /**
+     * Builds the filter index of one cached result: a bitset of flight positions per
+     * airline and per stop count, and the flight positions ordered by price, duration and
+     * outbound departure/arrival minute of the day. Each ordered array packs the key and
+     * the position into one long, so a range filter is two binary searches plus one bit
+     * per match.
+     *
+     * @param flights the mapped flights, in cache order
+     * @param sortIndex the sort keys already computed for the same flights
+     * @return the index
+     */
+    public static FilterIndex build(List<FlightSummary> flights, SortIndex sortIndex) {
+        int size = flights.size();
+        Map<String, BitSet> byAirline = new HashMap<>();
+        BitSet[] byStops = new BitSet[0];
+        long[] departureMinutes = new long[size];
+        long[] arrivalMinutes = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            List<ItinerarySummary> itineraries = flights.get(i).itineraries();
+            int stops = 0;
+            departureMinutes[i] = SortIndex.MISSING_KEY;
+            arrivalMinutes[i] = SortIndex.MISSING_KEY;
+            if (itineraries != null && !itineraries.isEmpty()) {
+                for (ItinerarySummary itinerary : itineraries) {
+                    addAirline(byAirline, itinerary.airlineCode(), i);
+                    addAirline(byAirline, itinerary.operatingAirlineCode(), i);
+                    stops = Math.max(stops, itinerary.stops() == null ? 0 : itinerary.stops().size());
+                }
+                departureMinutes[i] = minuteOfDay(itineraries.getFirst().initialDeparture());
+                arrivalMinutes[i] = minuteOfDay(itineraries.getFirst().finalArrival());
+            }
+            if (stops >= byStops.length) {
+                byStops = Arrays.copyOf(byStops, stops + 1);
+            }
+            if (byStops[stops] == null) {
+                byStops[stops] = new BitSet(size);
+            }
+            byStops[stops].set(i);
+        }
+
+        return new FilterIndex(
+                size,
+                Collections.unmodifiableMap(byAirline),
+                byStops,
+                ordered(sortIndex.keysFor("price")),
+                ordered(sortIndex.keysFor("duration")),
+                ordered(departureMinutes),
+                ordered(arrivalMinutes)
+        );
+    }
+
+    /**
+     * Evaluates a filter over the index.
+     *
+     * @param filter the filter to apply
+     * @return the positions of the matching flights
+     */
+    public BitSet matching(FlightFilter filter) {
+        BitSet matches = new BitSet(size);
+        matches.set(0, size);
+        if (filter.maxPrice() != null) {
+            matches.and(range(byPrice, 0, Math.round(filter.maxPrice() * 100)));
+        }
+        if (filter.maxDurationMinutes() != null) {
+            matches.and(range(byDuration, 0, filter.maxDurationMinutes()));
+        }
+        if (filter.maxStops() != null) {
+            BitSet allowed = new BitSet(size);
+            for (int stops = 0; stops <= filter.maxStops() && stops < byStops.length; stops++) {
+                if (byStops[stops] != null) {
+                    allowed.or(byStops[stops]);
+                }
+            }
+            matches.and(allowed);
+        }
+        if (!filter.airlines().isEmpty()) {
+            matches.and(anyAirline(filter.airlines()));
+        }
+        if (!filter.excludedAirlines().isEmpty()) {
+            matches.andNot(anyAirline(filter.excludedAirlines()));
+        }
+        if (filter.departureFrom() != null || filter.departureTo() != null) {
+            matches.and(timeWindow(byDepartureMinute, filter.departureFrom(), filter.departureTo()));
+        }
+        if (filter.arrivalFrom() != null || filter.arrivalTo() != null) {
+            matches.and(timeWindow(byArrivalMinute, filter.arrivalFrom(), filter.arrivalTo()));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the positions of the flights that pass the filter, in sort order. Views are
+     * memoized per filter and sort, so every page of a filtered listing is read from the
+     * same array; the memo is dropped wholesale once it holds MAX_VIEWS views, so it never
+     * takes more than {@link #maxViewBytes()}.
+     *
+     * @param filter the filter to apply
+     * @param sortIndex the sort index of the same flights
+     * @param sortBy "price" or "duration", or anything else for the original order
+     * @param order "ASC" or "DES"
+     * @return matching positions in sort order; callers must not modify it
+     */
+    public int[] view(FlightFilter filter, SortIndex sortIndex, String sortBy, String order) {
+        boolean sorted = sortIndex.keysFor(sortBy) != null;
+        ViewKey key = new ViewKey(
+                filter,
+                sorted ? sortBy.toLowerCase(Locale.ROOT) : "",
+                sorted && "des".equalsIgnoreCase(order));
+        int[] cached = views.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        BitSet matches = matching(filter);
+        int[] positions = new int[matches.cardinality()];
+        int count = 0;
+        if (sorted) {
+            for (int position : sortIndex.permutation(sortBy, order)) {
+                if (matches.get(position)) {
+                    positions[count++] = position;
+                }
+            }
+        } else {
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                positions[count++] = i;
+            }
+        }
+        if (views.size() >= MAX_VIEWS) {
+            views.clear();
+        }
+        views.put(key, positions);
+        return positions;
+    }
+
+    /**
+     * @return the most heap the memoized views can take, which the owning cache entry
+     *         counts towards its size
+     */
+    public long maxViewBytes() {
+        return MAX_VIEWS * (ARRAY_HEADER_BYTES + (long) Integer.BYTES * size);
+    }
+
+    private BitSet anyAirline(Iterable<String> airlines) {
+        BitSet flights = new BitSet(size);
+        for (String airline : airlines) {
+            BitSet operated = byAirline.get(airline);
+            if (operated != null) {
+                flights.or(operated);
+            }
+        }
+        return flights;
+    }
+
+    private static BitSet timeWindow(long[] ordered, LocalTime from, LocalTime to) {
+        long fromMinute = from == null ? 0 : from.getHour() * 60L + from.getMinute();
+        long toMinute = to == null ? LAST_MINUTE_OF_DAY : to.getHour() * 60L + to.getMinute();
+        if (fromMinute <= toMinute) {
+            return range(ordered, fromMinute, toMinute);
+        }
+        BitSet window = range(ordered, fromMinute, LAST_MINUTE_OF_DAY);
+        window.or(range(ordered, 0, toMinute));
+        return window;
+    }
+
+    /**
+     * Collects the positions whose key lies in [min, max]. Flights with a missing key never
+     * match.
+     */
+    private static BitSet range(long[] ordered, long min, long max) {
+        BitSet positions = new BitSet();
+        long upper = Math.min(max, SortIndex.MISSING_KEY - 1);
+        if (upper < min) {
+            return positions;
+        }
+        int from = lowerBound(ordered, SortIndex.sortableKey(min, false) << INDEX_BITS);
+        int to = lowerBound(ordered, (upper + 1) << INDEX_BITS);
+        for (int i = from; i < to; i++) {
+            positions.set((int) (ordered[i] & INDEX_MASK));
+        }
+        return positions;
+    }
+
+    private static int lowerBound(long[] ordered, long value) {
+        int low = 0;
+        int high = ordered.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ordered[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] ordered(long[] keys) {
+        long[] packed = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            packed[i] = (SortIndex.sortableKey(keys[i], false) << INDEX_BITS) | i;
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    private static void addAirline(Map<String, BitSet> byAirline, String airlineCode, int position) {
+        if (airlineCode != null) {
+            byAirline.computeIfAbsent(airlineCode, ignored -> new BitSet()).set(position);
+        }
+    }
+
+    /**
+     * Reads the minute of the day of an Amadeus local date-time ("2025-01-15T08:30:00").
+     */
+    static long minuteOfDay(String dateTime) {
+        if (dateTime == null) return SortIndex.MISSING_KEY;
+        int time = dateTime.indexOf('T');
+        if (time < 0 || dateTime.length() < time + 6) return SortIndex.MISSING_KEY;
+        try {
+            int hours = Integer.parseInt(dateTime, time + 1, time + 3, 10);
+            int minutes = Integer.parseInt(dateTime, time + 4, time + 6, 10);
+            return hours * 60L + minutes;
+        } catch (NumberFormatException e) {
+            return SortIndex.MISSING_KEY;
+        }
+    }
+
+    private record ViewKey(FlightFilter filter, String sortBy, boolean descending) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.flightsearch.backend.utils;
+
+import com.flightsearch.backend.model.FlightFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Position in the results of one search snapshot: the search ID of the cache entry, the
+ * sort and the filter the results were listed with, and the offset of the next result.
+ * Encoded as an opaque URL-safe string; clients only pass it back.
+ *
+ * @param searchId search ID of the snapshot
+ * @param sortBy normalized sort field, empty for the original order
+ * @param order normalized sort order, "asc" or "des"
+ * @param filterDigest SHA-256 digest of the filter the results were listed with, empty for
+ *        no filter
+ * @param offset index of the next result in the sorted, filtered list
+ */
+public record PageCursor(
+        String searchId,
+        String sortBy,
+        String order,
+        String filterDigest,
+        int offset
+) {
+    private static final String VERSION = "2";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates the cursor of a page boundary, normalizing the sort parameters the way
+     * SortIndex interprets them.
+     */
+    public static PageCursor of(String searchId, String sortBy, String order, FlightFilter filter, int offset) {
+        return new PageCursor(searchId, normalizeSortBy(sortBy), normalizeOrder(order), filterDigest(filter), offset);
+    }
+
+    /**
+     * Tells whether the cursor was issued for the same sort and filter.
+     */
+    public boolean matches(String sortBy, String order, FlightFilter filter) {
+        return this.sortBy.equals(normalizeSortBy(sortBy))
+                && this.order.equals(normalizeOrder(order))
+                && this.filterDigest.equals(filterDigest(filter));
+    }
+
+    /**
+     * @return the opaque string handed to clients
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, searchId, sortBy, order,
+                filterDigest, Integer.toString(offset));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor produced by {@link #encode()}.
+     *
+     * @param cursor the opaque string
+     * @return the cursor
+     * @throws IllegalArgumentException if the string is not a valid cursor
+     */
+    public static PageCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != 6 || !VERSION.equals(parts[0]) || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        int offset = Integer.parseInt(parts[5]);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new PageCursor(parts[1], parts[2], parts[3], parts[4], offset);
+    }
+
+    private static String normalizeSortBy(String sortBy) {
+        return sortBy == null ? "" : sortBy.toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeOrder(String order) {
+        return "des".equalsIgnoreCase(order) ? "des" : "asc";
+    }
+
+    /**
+     * Digests a canonical form of the filter, so that different filters never share
+     * cursors the way colliding hash codes would.
+     */
+    private static String filterDigest(FlightFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return "";
+        }
+        String canonical = String.join(";",
+                "maxPrice=" + Objects.toString(filter.maxPrice(), ""),
+                "maxStops=" + Objects.toString(filter.maxStops(), ""),
+                "airlines=" + sortedCodes(filter.airlines()),
+                "excludedAirlines=" + sortedCodes(filter.excludedAirlines()),
+                "departureFrom=" + Objects.toString(filter.departureFrom(), ""),
+                "departureTo=" + Objects.toString(filter.departureTo(), ""),
+                "arrivalFrom=" + Objects.toString(filter.arrivalFrom(), ""),
+                "arrivalTo=" + Objects.toString(filter.arrivalTo(), ""),
+                "maxDurationMinutes=" + Objects.toString(filter.maxDurationMinutes(), ""));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String sortedCodes(Set<String> codes) {
+        return String.join(",", new TreeSet<>(codes));
+    }
+}
@@ -1,8 +1,8 @@
 package com.flightsearch.backend.utils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public class PaginationUtils {
 
@@ -14,7 +14,7 @@ public class PaginationUtils {
      * @param size number of items per page
      * @return sublist of flights for the requested page
      */
-    public List<Map<String, Object>> applyPagination(List<Map<String, Object>> flights, int page, int size) {
+    public <T> List<T> applyPagination(List<T> flights, int page, int size) {
         if (page < 0) page = 0;
         if (size <= 0) size = 10;
         int fromIndex = page * size;
@@ -24,4 +24,52 @@ public class PaginationUtils {
         int toIndex = Math.min(fromIndex + size, flights.size());
         return flights.subList(fromIndex, toIndex);
     }
+
+    /**
+     * Returns the items of a page that starts at an arbitrary offset, as used by cursor
+     * pagination, touching only the items of the page.
+     *
+     * @param flights the list of flights, in its original order
+     * @param positions sorted positions into the list (at least up to the end of the page),
+     *                  or null for the original order
+     * @param offset index of the first item of the page
+     * @param size number of items per page
+     * @return the flights of the page, in sorted order
+     */
+    public <T> List<T> applyOffset(List<T> flights, int[] positions, int offset, int size) {
+        int available = positions == null ? flights.size() : positions.length;
+        int fromIndex = Math.max(offset, 0);
+        if (fromIndex >= available) {
+            return Collections.emptyList();
+        }
+        int toIndex = (int) Math.min((long) fromIndex + pageSize(size), available);
+        if (positions == null) {
+            return flights.subList(fromIndex, toIndex);
+        }
+        List<T> pageItems = new ArrayList<>(toIndex - fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            pageItems.add(flights.get(positions[i]));
+        }
+        return pageItems;
+    }
+
+    /**
+     * Returns the index of the first item of a page.
+     *
+     * @param page current page index (0-based)
+     * @param size number of items per page
+     * @return the start index of the page, capped at Integer.MAX_VALUE
+     */
+    public int offset(int page, int size) {
+        if (page < 0) page = 0;
+        return (int) Math.min((long) page * pageSize(size), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param size requested number of items per page
+     * @return the page size actually used
+     */
+    public int pageSize(int size) {
+        return size <= 0 ? 10 : size;
+    }
 }
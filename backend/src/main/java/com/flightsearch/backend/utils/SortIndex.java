@@ -0,0 +1,203 @@
+package com.flightsearch.backend.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SortIndex {
+
+    /** Key used for flights without a price or duration; sorts them last in ascending order. */
+    public static final long MISSING_KEY = (1L << 43) - 1;
+
+    /** Pages ending before size / TOP_K_FRACTION use heap selection instead of a full sort. */
+    private static final int TOP_K_FRACTION = 4;
+    private static final int INDEX_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final long[] priceCents;
+    private final long[] durationMinutes;
+    private final Map<String, int[]> permutations = new ConcurrentHashMap<>();
+
+    /**
+     * Primitive sort keys of one cached result (total price in cents and total duration in
+     * minutes, one slot per flight) plus the sorted index permutations built from them.
+     * Permutations are built lazily per (sortBy, order) pair and shared by every page
+     * request for the result. Shallow pages only select the top entries with a bounded
+     * heap; the full permutation is built once a deeper page is requested.
+     *
+     * @param priceCents total price of each flight in cents
+     * @param durationMinutes total flight time of each flight in minutes
+     */
+    public SortIndex(long[] priceCents, long[] durationMinutes) {
+        if (priceCents.length > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many flights to index: " + priceCents.length);
+        }
+        this.priceCents = priceCents;
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * @return the number of flights covered by the index
+     */
+    public int size() {
+        return priceCents.length;
+    }
+
+    /**
+     * Returns the primitive keys for a sort field.
+     *
+     * @param sortBy "price" or "duration"
+     * @return the keys, or null if the field is not sortable
+     */
+    public long[] keysFor(String sortBy) {
+        if (sortBy == null) return null;
+        return switch (sortBy.toLowerCase(Locale.ROOT)) {
+            case "price" -> priceCents;
+            case "duration" -> durationMinutes;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the flight positions in sorted order. The sort is stable, so flights with
+     * equal keys keep their original order in both directions.
+     *
+     * @param sortBy "price" or "duration"
+     * @param order "ASC" or "DES"
+     * @return sorted positions, or null if no sorting applies
+     */
+    public int[] permutation(String sortBy, String order) {
+        return sortedPrefix(sortBy, order, size());
+    }
+
+    /**
+     * Returns at least the first {@code length} flight positions in sorted order (or all of
+     * them if there are fewer). The result is always a prefix of the full stable
+     * permutation, whichever of the two paths produced it.
+     *
+     * @param sortBy "price" or "duration"
+     * @param order "ASC" or "DES"
+     * @param length number of leading positions needed
+     * @return sorted leading positions, or null if no sorting applies
+     */
+    public int[] sortedPrefix(String sortBy, String order, int length) {
+        long[] keys = keysFor(sortBy);
+        if (keys == null) {
+            return null;
+        }
+        boolean descending = "des".equalsIgnoreCase(order);
+        String cacheKey = permutationKey(sortBy, order);
+        int needed = Math.min(Math.max(length, 0), keys.length);
+
+        int[] cached = permutations.get(cacheKey);
+        if (cached != null && cached.length >= needed) {
+            return cached;
+        }
+        int[] positions = (long) needed * TOP_K_FRACTION <= keys.length
+                ? selectTopPositions(keys, descending, needed)
+                : sortPositions(keys, descending);
+        return permutations.merge(cacheKey, positions, (old, fresh) -> old.length >= fresh.length ? old : fresh);
+    }
+
+    /**
+     * Tells whether {@link #sortedPrefix(String, String, int)} would answer from an already
+     * built permutation.
+     *
+     * @param sortBy "price" or "duration"
+     * @param order "ASC" or "DES"
+     * @param length number of leading positions needed
+     * @return true if a long enough permutation is cached
+     */
+    public boolean hasSortedPrefix(String sortBy, String order, int length) {
+        long[] keys = keysFor(sortBy);
+        if (keys == null) {
+            return false;
+        }
+        int[] cached = permutations.get(permutationKey(sortBy, order));
+        return cached != null && cached.length >= Math.min(Math.max(length, 0), keys.length);
+    }
+
+    private static String permutationKey(String sortBy, String order) {
+        return sortBy.toLowerCase(Locale.ROOT) + ("des".equalsIgnoreCase(order) ? ":des" : ":asc");
+    }
+
+    /**
+     * Packs each key and its position into one long (key in the high bits, position in the
+     * low 20 bits) so a single primitive sort yields a stable order.
+     */
+    private static int[] sortPositions(long[] keys, boolean descending) {
+        long[] packed = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            packed[i] = pack(keys[i], i, descending);
+        }
+        Arrays.sort(packed);
+        return unpackPositions(packed, packed.length);
+    }
+
+    /**
+     * Selects the k smallest packed keys with a bounded max-heap (O(n log k)) and returns
+     * their positions in sorted order.
+     */
+    private static int[] selectTopPositions(long[] keys, boolean descending, int k) {
+        if (k == 0) {
+            return new int[0];
+        }
+        long[] heap = new long[k];
+        int heapSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long packed = pack(keys[i], i, descending);
+            if (heapSize < k) {
+                heap[heapSize] = packed;
+                siftUp(heap, heapSize++);
+            } else if (packed < heap[0]) {
+                heap[0] = packed;
+                siftDown(heap, k);
+            }
+        }
+        Arrays.sort(heap, 0, heapSize);
+        return unpackPositions(heap, heapSize);
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= value) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        long value = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (value >= heap[child]) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    private static long pack(long key, int position, boolean descending) {
+        return (sortableKey(key, descending) << INDEX_BITS) | position;
+    }
+
+    private static int[] unpackPositions(long[] packed, int length) {
+        int[] positions = new int[length];
+        for (int i = 0; i < length; i++) {
+            positions[i] = (int) (packed[i] & INDEX_MASK);
+        }
+        return positions;
+    }
+
+    static long sortableKey(long key, boolean descending) {
+        long bounded = Math.min(Math.max(key, 0), MISSING_KEY);
+        return descending ? MISSING_KEY - bounded : bounded;
+    }
+}
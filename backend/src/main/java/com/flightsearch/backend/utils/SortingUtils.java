@@ -1,73 +1,83 @@
 package com.flightsearch.backend.utils;
 
-import java.time.Duration;
-import java.util.Comparator;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.model.response.ItinerarySummary;
+
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class SortingUtils {
 
+    private static final Pattern READABLE_DURATION = Pattern.compile("^(\\d+)h\\s*(\\d+)m$");
+
+    /**
+     * Computes the primitive sort keys of a flight list once, so sorting never has to parse
+     * prices or durations again.
+     *
+     * @param flights list of flight summaries
+     * @return the sort index for the list
+     */
+    public SortIndex buildSortIndex(List<FlightSummary> flights) {
+        long[] priceCents = new long[flights.size()];
+        long[] durationMinutes = new long[flights.size()];
+        for (int i = 0; i < flights.size(); i++) {
+            FlightSummary flight = flights.get(i);
+            priceCents[i] = parsePriceCents(flight.totalPrice());
+            durationMinutes[i] = totalDurationMinutes(flight.itineraries());
+        }
+        return new SortIndex(priceCents, durationMinutes);
+    }
+
     /**
      * Applies sorting on a list of flight objects based on either price or duration.
      * If sortBy is not provided, no sorting is applied. Order can be "ASC" or "DES".
      *
-     * @param flights list of flight maps
+     * @param flights list of flight summaries
      * @param sortBy "price" or "duration"
      * @param order "ASC" or "DES"
      */
-    public void applySorting(List<Map<String, Object>> flights, String sortBy, String order) {
+    public void applySorting(List<FlightSummary> flights, String sortBy, String order) {
         if (sortBy == null || sortBy.isEmpty()) {
             return;
         }
-        Comparator<Map<String, Object>> comparator;
-        switch (sortBy.toLowerCase()) {
-            case "price":
-                comparator = Comparator.comparing(f -> {
-                    Object price = f.get("totalPrice");
-                    return (price != null) ? Double.parseDouble(price.toString()) : Double.MAX_VALUE;
-                });
-                break;
-            case "duration":
-                comparator = Comparator.comparing(f -> {
-                    Object itineraries = f.get("itineraries");
-                    if (!(itineraries instanceof List)) {
-                        return Duration.ofDays(999);
-                    }
-                    Duration total = Duration.ZERO;
-                    for (Object obj : (List<?>) itineraries) {
-                        if (obj instanceof Map) {
-                            Object dur = ((Map<?, ?>) obj).get("totalFlightTime");
-                            Duration d = parseDuration(dur);
-                            if (d != null) {
-                                total = total.plus(d);
-                            }
-                        }
-                    }
-                    return total.equals(Duration.ZERO) ? Duration.ofDays(999) : total;
-                });
-                break;
-            default:
-                return;
+        int[] positions = buildSortIndex(flights).permutation(sortBy, order);
+        if (positions == null) {
+            return;
+        }
+        List<FlightSummary> original = new ArrayList<>(flights);
+        for (int i = 0; i < positions.length; i++) {
+            flights.set(i, original.get(positions[i]));
         }
-        if ("des".equalsIgnoreCase(order)) {
-            flights.sort(comparator.reversed());
-        } else {
-            flights.sort(comparator);
+    }
+
+    private long parsePriceCents(String totalPrice) {
+        if (totalPrice == null) return SortIndex.MISSING_KEY;
+        try {
+            return Math.round(Double.parseDouble(totalPrice) * 100);
+        } catch (NumberFormatException e) {
+            return SortIndex.MISSING_KEY;
+        }
+    }
+
+    private long totalDurationMinutes(List<ItinerarySummary> itineraries) {
+        if (itineraries == null) return SortIndex.MISSING_KEY;
+        long total = 0;
+        for (ItinerarySummary itinerary : itineraries) {
+            total += parseDurationMinutes(itinerary.totalFlightTime());
         }
+        return total == 0 ? SortIndex.MISSING_KEY : total;
     }
 
-    private Duration parseDuration(Object totalFlightTimeObj) {
-        if (totalFlightTimeObj == null) return null;
-        String raw = totalFlightTimeObj.toString().trim();
-        Pattern pattern = Pattern.compile("^(\\d+)h\\s*(\\d+)m$");
-        Matcher matcher = pattern.matcher(raw);
+    private long parseDurationMinutes(String totalFlightTime) {
+        if (totalFlightTime == null) return 0;
+        Matcher matcher = READABLE_DURATION.matcher(totalFlightTime.trim());
         if (matcher.matches()) {
             long hours = Long.parseLong(matcher.group(1));
             long minutes = Long.parseLong(matcher.group(2));
-            return Duration.ofMinutes(hours * 60 + minutes);
+            return hours * 60 + minutes;
         }
-        return null;
+        return 0;
     }
 }
@@ -0,0 +1,121 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.airport.AirportResolver;
+import com.flightsearch.backend.cache.InFlightSearchRegistry;
+import com.flightsearch.backend.cache.SearchResultCache;
+import com.flightsearch.backend.client.AmadeusClient;
+import com.flightsearch.backend.client.CircuitBreaker;
+import com.flightsearch.backend.mapper.FlightOfferDetailMapper;
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.utils.PaginationUtils;
+import com.flightsearch.backend.utils.SortingUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that both airport keywords are resolved at the same time, using a stub resolver
+ * whose lookups only return once both of them are running, and that lookups still running
+ * when the shared deadline passes are interrupted.
+ */
+class AirportResolutionConcurrencyTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    @Test
+    @DisplayName("Both airport keywords are looked up concurrently")
+    void resolvesAirportKeywordsConcurrently() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        AirportResolver airportResolver = mock(AirportResolver.class);
+        when(airportResolver.resolveCode(anyString())).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            if (!bothRunning.await(WAIT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Airport lookups ran one after the other");
+            }
+            return "XXX";
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SearchService service = buildService(airportResolver, executor, TimeUnit.SECONDS.toMillis(WAIT_SECONDS * 2));
+            search(service);
+        }
+
+        assertEquals(0, bothRunning.getCount());
+    }
+
+    @Test
+    @DisplayName("Lookups still running at the deadline are interrupted")
+    void interruptsLookupsPastTheDeadline() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        AirportResolver airportResolver = mock(AirportResolver.class);
+        when(airportResolver.resolveCode(anyString())).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "XXX";
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SearchService service = buildService(airportResolver, executor, 50);
+            assertThrows(RuntimeException.class, () -> search(service));
+            assertTrue(interrupted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    private void search(SearchService service) throws Exception {
+        service.getFlightOptions(
+                "Mexico City", false,
+                "Cancun", false,
+                "2025-12-01", "",
+                1, CurrencyType.USD, false,
+                null, null, 0, 10
+        );
+    }
+
+    private SearchService buildService(AirportResolver airportResolver, ExecutorService executor, long timeoutMillis)
+            throws Exception {
+        AmadeusClient client = mock(AmadeusClient.class);
+        GeneralResponse emptyResponse = new GeneralResponse();
+        emptyResponse.setData(new ArrayList<>());
+        when(client.fetchFlightData(anyString(), anyString(), anyString(), anyString(), anyInt(), anyString(), anyBoolean()))
+                .thenReturn(emptyResponse);
+
+        FlightOfferMapper flightOfferMapper = mock(FlightOfferMapper.class);
+        when(flightOfferMapper.buildEssentialFlightList(any(), any())).thenReturn(new ArrayList<>());
+
+        return new SearchService(
+                client,
+                airportResolver,
+                flightOfferMapper,
+                mock(FlightOfferDetailMapper.class),
+                new SortingUtils(),
+                new PaginationUtils(),
+                new SearchResultCache(500, 256L * 1024 * 1024, 600, 3600, 900, 60),
+                new InFlightSearchRegistry(30_000),
+                new CircuitBreaker(5, 30_000),
+                new SearchMetrics(new SimpleMeterRegistry()),
+                executor,
+                timeoutMillis,
+                100
+        );
+    }
+}
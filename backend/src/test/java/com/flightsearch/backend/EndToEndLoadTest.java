@@ -0,0 +1,244 @@
+package com.flightsearch.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightsearch.backend.fake.FakeAmadeusServer;
+import com.flightsearch.backend.fake.FakeAmadeusSettings;
+import com.flightsearch.backend.fake.LatencyDistribution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the whole backend over HTTP against a FakeAmadeusServer: searches over a skewed
+ * mix of routes and dates (a few popular ones, a long tail of rare ones), interleaved with
+ * detail lookups of offers the same user has just been shown, while the fake adds
+ * realistic latency, expires tokens and injects 401, 429 and 500 answers. Every failed
+ * request must be a search that the fake injected a fault into. Sends thousands of
+ * requests, so it only runs in the loadTest task.
+ */
+@Tag("load")
+class EndToEndLoadTest {
+
+    private static final int VIRTUAL_USERS = 32;
+    private static final int REQUESTS = 2_000;
+    private static final double DETAIL_SHARE = 0.2;
+    private static final double ROUND_TRIP_SHARE = 0.3;
+    private static final double POPULARITY_SKEW = 1.1;
+    private static final int DATES = 30;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 15);
+    private static final String FLIGHT_OFFERS_PATH = "/v2/shopping/flight-offers";
+    private static final String LOCATIONS_PATH = "/v1/reference-data/locations";
+    private static final String[][] ROUTES = {
+            {"MEX", "CUN"}, {"MEX", "GDL"}, {"MEX", "MTY"}, {"GDL", "CUN"}, {"MTY", "CUN"},
+            {"MEX", "BOG"}, {"MEX", "MIA"}, {"MEX", "IAH"}, {"MEX", "DFW"}, {"MEX", "ATL"},
+            {"MEX", "PTY"}, {"CUN", "MIA"}, {"CUN", "DFW"}, {"GDL", "IAH"}, {"MTY", "DFW"},
+            {"BOG", "PTY"}, {"MIA", "BOG"}, {"ATL", "CUN"}, {"IAH", "CUN"}, {"PTY", "MEX"}
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("The backend only fails the searches Amadeus injected faults into")
+    void failsOnlyTheSearchesWithInjectedFaults() throws Exception {
+        FakeAmadeusSettings settings = FakeAmadeusSettings.defaults()
+                .withFlightOffersFixture("medium")
+                .withLatency(
+                        LatencyDistribution.ofMillis(120, 600),
+                        LatencyDistribution.ofMillis(40, 200),
+                        LatencyDistribution.ofMillis(30, 100))
+                .withTokenLifetime(Duration.ofSeconds(3))
+                .withFaults(0.01, 0.02, 1, 0.005);
+
+        try (FakeAmadeusServer amadeus = FakeAmadeusServer.start(settings);
+             ConfigurableApplicationContext context = startBackend(amadeus.baseUrl())) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadReport report = drive(port);
+            List<FakeAmadeusServer.InjectedFault> faults = amadeus.injectedFaults();
+
+            assertEquals(REQUESTS, report.searches.get() + report.details.get());
+            assertTrue(report.failedDetails.isEmpty(), "failed detail lookups " + report.failedDetails);
+            List<FailedSearch> unexplained = report.failedSearches.stream()
+                    .filter(failure -> failure.status() != 500 || faults.stream().noneMatch(failure::causedBy))
+                    .toList();
+            assertTrue(unexplained.isEmpty(), "failures without an injected fault " + unexplained);
+            assertTrue(amadeus.tokensIssued() > 1, "tokens were never refreshed");
+        }
+    }
+
+    private ConfigurableApplicationContext startBackend(String baseUrl) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "api.base_url=" + baseUrl,
+                        "api.client_key=test",
+                        "api.client_secret=test",
+                        // The fake has no rate limit of its own; let the limiters only cap concurrency.
+                        "upstream.flight_offers.rate_per_second=1000",
+                        "upstream.flight_offers.burst=1000",
+                        "upstream.locations.rate_per_second=1000",
+                        "upstream.locations.burst=1000"
+                )
+                .run();
+    }
+
+    private LoadReport drive(int port) throws Exception {
+        SearchMix mix = new SearchMix();
+        LoadReport report = new LoadReport();
+        AtomicInteger remaining = new AtomicInteger(REQUESTS);
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int user = 0; user < VIRTUAL_USERS; user++) {
+                Random random = new Random(user);
+                running.add(users.submit(() -> {
+                    ShownResults shown = null;
+                    while (remaining.getAndDecrement() > 0) {
+                        if (shown != null && random.nextDouble() < DETAIL_SHARE) {
+                            String path = shown.detailPath(random);
+                            report.details.incrementAndGet();
+                            HttpResponse<String> response = call(client, port, path);
+                            if (response == null || response.statusCode() != 200) {
+                                report.failedDetails.add(path + " -> " + status(response));
+                            }
+                        } else {
+                            Search search = mix.nextSearch(random);
+                            report.searches.incrementAndGet();
+                            HttpResponse<String> response = call(client, port, search.path());
+                            if (response != null && response.statusCode() == 200) {
+                                ShownResults results = ShownResults.of(objectMapper.readTree(response.body()));
+                                shown = results == null ? shown : results;
+                            } else {
+                                report.failedSearches.add(new FailedSearch(search, status(response)));
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+        }
+        return report;
+    }
+
+    private static HttpResponse<String> call(HttpClient client, int port, String path) {
+        try {
+            return client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static int status(HttpResponse<String> response) {
+        return response == null ? -1 : response.statusCode();
+    }
+
+    /**
+     * Picks searches with Zipf-distributed popularity over every (route, date) pair, so
+     * that the head is mostly served from the cache and the tail reaches Amadeus.
+     */
+    private static final class SearchMix {
+
+        private final double[] cumulative;
+
+        SearchMix() {
+            cumulative = new double[ROUTES.length * DATES];
+            double total = 0;
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                total += 1 / Math.pow(rank + 1, POPULARITY_SKEW);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        Search nextSearch(Random random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            int pick = rank >= 0 ? rank : Math.min(-rank - 1, cumulative.length - 1);
+            String[] route = ROUTES[pick % ROUTES.length];
+            LocalDate departure = FIRST_DATE.plusDays(pick / ROUTES.length);
+            String returnDate = random.nextDouble() < ROUND_TRIP_SHARE ? departure.plusDays(7).toString() : "";
+            return new Search(route[0], route[1], departure.toString(), returnDate);
+        }
+    }
+
+    private record Search(String origin, String destination, String departureDate, String returnDate) {
+
+        String path() {
+            return "/api/v1/flights?departureAirportKeyword=" + origin + "&arrivalAirportKeyword=" + destination
+                    + "&departureDate=" + departureDate + "&arrivalDate=" + returnDate
+                    + "&numAdults=1&currency=MXN&nonStop=false&sortBy=price&order=ASC&page=0&size=10";
+        }
+    }
+
+    private record FailedSearch(Search search, int status) {
+
+        /**
+         * Whether the fault hit the flight query or one of the airport lookups of this search.
+         */
+        boolean causedBy(FakeAmadeusServer.InjectedFault fault) {
+            if (fault.path().endsWith(LOCATIONS_PATH)) {
+                String keyword = fault.query().getOrDefault("keyword", "");
+                return keyword.equalsIgnoreCase(search.origin()) || keyword.equalsIgnoreCase(search.destination());
+            }
+            return fault.path().endsWith(FLIGHT_OFFERS_PATH)
+                    && search.origin().equals(fault.query().get("originLocationCode"))
+                    && search.destination().equals(fault.query().get("destinationLocationCode"))
+                    && search.departureDate().equals(fault.query().get("departureDate"))
+                    && search.returnDate().equals(fault.query().getOrDefault("returnDate", ""));
+        }
+    }
+
+    /**
+     * The search ID and offer IDs of the page a user was last shown.
+     */
+    private record ShownResults(String searchId, List<String> offerIds) {
+
+        static ShownResults of(JsonNode body) {
+            List<String> ids = new ArrayList<>();
+            body.path("data").forEach(offer -> ids.add(offer.path("id").asText()));
+            String searchId = body.path("searchId").asText("");
+            return ids.isEmpty() || searchId.isEmpty() ? null : new ShownResults(searchId, ids);
+        }
+
+        String detailPath(Random random) {
+            return "/api/v1/searches/" + searchId + "/flights/" + offerIds.get(random.nextInt(offerIds.size()));
+        }
+    }
+
+    private static final class LoadReport {
+
+        private final AtomicInteger searches = new AtomicInteger();
+        private final AtomicInteger details = new AtomicInteger();
+        private final ConcurrentLinkedQueue<FailedSearch> failedSearches = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<String> failedDetails = new ConcurrentLinkedQueue<>();
+    }
+}
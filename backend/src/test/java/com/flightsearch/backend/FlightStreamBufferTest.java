@@ -0,0 +1,150 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.airport.AirportResolver;
+import com.flightsearch.backend.cache.InFlightSearchRegistry;
+import com.flightsearch.backend.cache.SearchResultCache;
+import com.flightsearch.backend.client.AmadeusClient;
+import com.flightsearch.backend.client.CircuitBreaker;
+import com.flightsearch.backend.mapper.FlightOfferDetailMapper;
+import com.flightsearch.backend.mapper.FlightOfferMapper;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.CurrencyType;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.PaginationUtils;
+import com.flightsearch.backend.utils.SortingUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a streaming client which is slow to read never pauses the upstream load:
+ * the stub Amadeus response only finishes while the client is still stuck on its first
+ * flight, which would deadlock if writing to the client blocked the load. Flights that
+ * did not fit in the buffer must still reach the client, from the finished result.
+ */
+class FlightStreamBufferTest {
+
+    private static final int OFFERS = 5;
+    private static final long WAIT_SECONDS = 5;
+
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final SearchResultCache searchResultCache = new SearchResultCache(500, 256L * 1024 * 1024, 600, 3600, 900, 60);
+
+    @Test
+    @DisplayName("A slow client receives every flight once the load has run ahead of it")
+    void slowClientWithinTheBufferGetsEveryFlight() throws Exception {
+        SlowStream stream = new SlowStream();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            buildService(executor, OFFERS).streamFlightOptions(
+                    "MEX", true, "CUN", true, "2030-01-15", "", 1, CurrencyType.USD, false, null, null, stream);
+        }
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), stream.flightIds);
+        assertNotNull(stream.summary);
+        assertTrue(stream.loadFinishedWhileBlocked);
+    }
+
+    @Test
+    @DisplayName("A client falling further behind than the buffer still gets every flight and the summary")
+    void clientBehindTheBufferGetsTheRestFromTheResult() throws Exception {
+        SlowStream stream = new SlowStream();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            buildService(executor, 2).streamFlightOptions(
+                    "MEX", true, "CUN", true, "2030-01-15", "", 1, CurrencyType.USD, false, null, null, stream);
+        }
+
+        assertTrue(stream.loadFinishedWhileBlocked);
+        assertEquals(List.of("1", "2", "3", "4", "5"), stream.flightIds);
+        assertNotNull(stream.summary);
+        assertEquals(OFFERS, stream.summary.get("counter"));
+    }
+
+    private SearchService buildService(ExecutorService executor, int streamBufferFlights) throws Exception {
+        List<FlightOffer> offers = new ArrayList<>();
+        for (int i = 1; i <= OFFERS; i++) {
+            FlightOffer offer = new FlightOffer();
+            offer.setId(String.valueOf(i));
+            offers.add(offer);
+        }
+        GeneralResponse response = new GeneralResponse();
+        response.setData(offers);
+
+        AmadeusClient client = mock(AmadeusClient.class);
+        when(client.fetchFlightData(anyString(), anyString(), anyString(), anyString(), anyInt(), anyString(),
+                anyBoolean(), any())).thenAnswer(invocation -> {
+            Consumer<FlightOffer> onOffer = invocation.getArgument(7);
+            offers.forEach(onOffer);
+            loaded.countDown();
+            return response;
+        });
+
+        FlightOfferMapper flightOfferMapper = mock(FlightOfferMapper.class);
+        when(flightOfferMapper.buildEssentialFlightList(any(), any())).thenAnswer(invocation -> {
+            List<FlightOffer> mapped = invocation.getArgument(0);
+            return mapped.stream()
+                    .map(offer -> new FlightSummary(offer.getId(), List.of(), "100.00", "USD", "100.00"))
+                    .toList();
+        });
+
+        return new SearchService(
+                client,
+                mock(AirportResolver.class),
+                flightOfferMapper,
+                mock(FlightOfferDetailMapper.class),
+                new SortingUtils(),
+                new PaginationUtils(),
+                searchResultCache,
+                new InFlightSearchRegistry(30_000),
+                new CircuitBreaker(5, 30_000),
+                new SearchMetrics(new SimpleMeterRegistry()),
+                executor,
+                TimeUnit.SECONDS.toMillis(WAIT_SECONDS),
+                streamBufferFlights
+        );
+    }
+
+    /**
+     * Blocks on its first flight until the whole Amadeus response has been read.
+     */
+    private final class SlowStream implements FlightStream {
+
+        private final List<String> flightIds = new ArrayList<>();
+        private Map<String, Object> summary;
+        private boolean loadFinishedWhileBlocked;
+
+        @Override
+        public void flight(FlightSummary flight) {
+            if (flightIds.isEmpty()) {
+                try {
+                    loadFinishedWhileBlocked = loaded.await(WAIT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            flightIds.add(flight.id());
+        }
+
+        @Override
+        public void summary(Map<String, Object> summary) {
+            this.summary = summary;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.flightsearch.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flightsearch.backend.fake.FakeAmadeusServer;
+import com.flightsearch.backend.fake.FakeAmadeusSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the same searches against the servlet backend and the reactive profile, both
+ * backed by a fault-free FakeAmadeusServer, and checks that /api/v1/flights answers
+ * alike. The search ID, fetch time and cursor identify each backend's own snapshot, so
+ * only their presence is compared.
+ */
+class ReactiveSearchContractTest {
+
+    private static final String[] SNAPSHOT_FIELDS = {"searchId", "fetchedAt", "nextCursor"};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static FakeAmadeusServer amadeus;
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+
+    @BeforeAll
+    static void startBackends() throws Exception {
+        amadeus = FakeAmadeusServer.start(FakeAmadeusSettings.defaults());
+        servlet = startBackend();
+        reactive = startBackend("reactive");
+    }
+
+    @AfterAll
+    static void stopBackends() {
+        if (reactive != null) {
+            reactive.close();
+        }
+        if (servlet != null) {
+            servlet.close();
+        }
+        if (amadeus != null) {
+            amadeus.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A one-way search returns the same page on both stacks")
+    void oneWaySearchMatches() throws Exception {
+        assertSameResponse("departureAirportKeyword=MEX&arrivalAirportKeyword=CUN&departureDate=2030-01-15"
+                + "&numAdults=1&currency=MXN&nonStop=false");
+    }
+
+    @Test
+    @DisplayName("A sorted, filtered round-trip page returns the same page on both stacks")
+    void sortedFilteredRoundTripMatches() throws Exception {
+        assertSameResponse("departureAirportKeyword=MEX&arrivalAirportKeyword=CUN&departureDate=2030-01-15"
+                + "&arrivalDate=2030-01-22&numAdults=2&currency=USD&nonStop=false"
+                + "&maxStops=1&sortBy=duration&order=DESC&page=1&size=5");
+    }
+
+    @Test
+    @DisplayName("An invalid request is rejected with the same status on both stacks")
+    void invalidRequestMatches() {
+        String query = "departureAirportKeyword=MEX&arrivalAirportKeyword=CUN&departureDate=2030-01-15"
+                + "&numAdults=1&currency=MXN&nonStop=false&cursor=not-a-cursor";
+        HttpStatusCode servletStatus = client(servlet).get().uri("/api/v1/flights?" + query)
+                .exchange().returnResult(String.class).getStatus();
+        HttpStatusCode reactiveStatus = client(reactive).get().uri("/api/v1/flights?" + query)
+                .exchange().returnResult(String.class).getStatus();
+        assertEquals(400, servletStatus.value());
+        assertEquals(servletStatus, reactiveStatus);
+    }
+
+    private static void assertSameResponse(String query) throws Exception {
+        JsonNode expected = search(servlet, query);
+        JsonNode actual = search(reactive, query);
+        assertFalse(expected.path("data").isEmpty());
+        for (String field : SNAPSHOT_FIELDS) {
+            assertEquals(expected.has(field), actual.has(field), field);
+            ((ObjectNode) expected).remove(field);
+            ((ObjectNode) actual).remove(field);
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static JsonNode search(ConfigurableApplicationContext backend, String query) throws Exception {
+        byte[] body = client(backend).get().uri("/api/v1/flights?" + query)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+        return objectMapper.readTree(body);
+    }
+
+    private static WebTestClient client(ConfigurableApplicationContext backend) {
+        int port = ((WebServerApplicationContext) backend).getWebServer().getPort();
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+
+    private static ConfigurableApplicationContext startBackend(String... profiles) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "api.base_url=" + amadeus.baseUrl(),
+                        "api.client_key=test",
+                        "api.client_secret=test"
+                )
+                .run();
+    }
+}
@@ -0,0 +1,139 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.cache.CachedSearch;
+import com.flightsearch.backend.cache.SearchResultCache;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.FlightFilter;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.utils.PaginationUtils;
+import com.flightsearch.backend.utils.SortingUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the cursor pagination of SearchService against a real SearchResultCache: pages
+ * continue the snapshot a cursor was issued for, and bad or expired cursors are rejected
+ * with 400 and 410.
+ */
+class SearchCursorTest {
+
+    private static final String KEY = "MEX_true_CUN_true_2030-01-15__1_USD_false";
+    private static final int FLIGHTS = 25;
+
+    private final PaginationUtils paginationUtils = new PaginationUtils();
+    private final SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("A cursor serves the next page of its own snapshot after the search is refreshed")
+    void cursorContinuesItsSnapshotAfterARefresh() {
+        SearchResultCache cache = cache(900);
+        CachedSearch first = search(KEY, "a");
+        cache.put(first);
+        String cursor = firstPageCursor(first, null);
+
+        cache.put(search(KEY, "b"));
+        Map<String, Object> page = cursorPage(cache, cursor, KEY, null, "price");
+
+        assertEquals(first.getSearchId(), page.get("searchId"));
+        assertEquals(List.of("a11", "a12", "a13", "a14", "a15", "a16", "a17", "a18", "a19", "a20"), ids(page));
+    }
+
+    @Test
+    @DisplayName("The last page of a filtered listing has no next cursor")
+    void filteredCursorStopsAtTheLastMatch() {
+        SearchResultCache cache = cache(900);
+        CachedSearch search = search(KEY, "a");
+        cache.put(search);
+        FlightFilter filter = new FlightFilter(12.0, null, Set.of(), Set.of(), null, null, null, null, null);
+
+        Map<String, Object> page = cursorPage(cache, firstPageCursor(search, filter), KEY, filter, "price");
+
+        assertEquals(List.of("a11", "a12"), ids(page));
+        assertNull(page.get("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Malformed cursors and cursors of another sort, filter or search are rejected with 400")
+    void rejectsForeignCursors() {
+        SearchResultCache cache = cache(900);
+        CachedSearch search = search(KEY, "a");
+        cache.put(search);
+        String cursor = firstPageCursor(search, null);
+        FlightFilter filter = new FlightFilter(12.0, null, Set.of(), Set.of(), null, null, null, null, null);
+
+        assertStatus(HttpStatus.BAD_REQUEST, () -> cursorPage(cache, "not-a-cursor", KEY, null, "price"));
+        assertStatus(HttpStatus.BAD_REQUEST, () -> cursorPage(cache, cursor, KEY, null, "duration"));
+        assertStatus(HttpStatus.BAD_REQUEST, () -> cursorPage(cache, cursor, KEY, filter, "price"));
+        assertStatus(HttpStatus.BAD_REQUEST, () -> cursorPage(cache, cursor, "MEX_true_GDL", null, "price"));
+    }
+
+    @Test
+    @DisplayName("A cursor whose snapshot is no longer kept is rejected with 410")
+    void rejectsCursorsOfDroppedSnapshots() {
+        SearchResultCache cache = cache(0);
+        CachedSearch first = search(KEY, "a");
+        cache.put(first);
+        String cursor = firstPageCursor(first, null);
+
+        cache.put(search(KEY, "b"));
+
+        assertStatus(HttpStatus.GONE, () -> cursorPage(cache, cursor, KEY, null, "price"));
+    }
+
+    private String firstPageCursor(CachedSearch search, FlightFilter filter) {
+        Map<String, Object> page = SearchService.buildResultPage(
+                search, true, paginationUtils, searchMetrics, filter, "price", "ASC", 0, 10);
+        return (String) page.get("nextCursor");
+    }
+
+    private Map<String, Object> cursorPage(
+            SearchResultCache cache, String cursor, String key, FlightFilter filter, String sortBy) {
+        return SearchService.buildCursorPage(
+                cache, paginationUtils, searchMetrics, cursor, key, filter, sortBy, "ASC", 10);
+    }
+
+    private static void assertStatus(HttpStatus status, Runnable call) {
+        assertEquals(status, assertThrows(ResponseStatusException.class, call::run).getStatusCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> ids(Map<String, Object> page) {
+        return ((List<FlightSummary>) page.get("data")).stream().map(FlightSummary::id).toList();
+    }
+
+    private static SearchResultCache cache(long snapshotRetentionSeconds) {
+        return new SearchResultCache(10, 256L * 1024 * 1024, 600, 3600, snapshotRetentionSeconds, 60);
+    }
+
+    /**
+     * A search whose flight "{prefix}{n}" costs n, listed in reverse price order.
+     */
+    private static CachedSearch search(String key, String prefix) {
+        List<FlightOffer> offers = new ArrayList<>();
+        List<FlightSummary> flights = new ArrayList<>();
+        for (int n = FLIGHTS; n >= 1; n--) {
+            FlightOffer offer = new FlightOffer();
+            offer.setId(prefix + n);
+            offers.add(offer);
+            flights.add(new FlightSummary(prefix + n, List.of(), n + ".00", "USD", n + ".00"));
+        }
+        GeneralResponse response = new GeneralResponse();
+        response.setData(offers);
+        return new CachedSearch(key, response, flights, new SortingUtils().buildSortIndex(flights), Instant.now());
+    }
+}
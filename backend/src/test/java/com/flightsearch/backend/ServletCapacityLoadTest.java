@@ -0,0 +1,146 @@
+package com.flightsearch.backend;
+
+import com.flightsearch.backend.client.AmadeusClient;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fires a burst of concurrent searches at the servlet container, with Amadeus replaced by
+ * a stub that holds every call until the test opens a gate, once on a bounded platform
+ * thread pool and once on virtual threads, and checks how many searches reached the stub
+ * at the same time. Starts two full contexts, so it only runs in the loadTest task.
+ */
+@Tag("load")
+class ServletCapacityLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final int PLATFORM_THREADS = 20;
+    private static final long WAIT_SECONDS = 30;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+    private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @Test
+    @DisplayName("A bounded platform thread pool caps concurrent searches at its size")
+    void platformThreadsCapConcurrentSearches() throws Exception {
+        assertEquals(PLATFORM_THREADS, maxConcurrentSearches(false));
+    }
+
+    @Test
+    @DisplayName("Virtual threads let every search of the burst wait on Amadeus at once")
+    void virtualThreadsServeTheWholeBurstConcurrently() throws Exception {
+        assertEquals(CONCURRENT_REQUESTS, maxConcurrentSearches(true));
+    }
+
+    /**
+     * Holds the stub closed until as many searches as the container can run are waiting in
+     * it, then opens it and returns the highest number of searches seen inside it at once.
+     */
+    private int maxConcurrentSearches(boolean virtualThreads) throws Exception {
+        int expected = virtualThreads ? CONCURRENT_REQUESTS : PLATFORM_THREADS;
+        try (ConfigurableApplicationContext context = startBackend(virtualThreads);
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            assertEquals(200, search(client, port, -1));
+
+            CountDownLatch burstGate = new CountDownLatch(1);
+            gate = burstGate;
+            maxInFlight.set(0);
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                int request = i;
+                responses.add(callers.submit(() -> search(client, port, request)));
+            }
+            try {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+                while (inFlight.get() < expected && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+            } finally {
+                burstGate.countDown();
+            }
+            for (Future<Integer> response : responses) {
+                assertEquals(200, response.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            }
+            assertEquals(0, inFlight.get());
+            return maxInFlight.get();
+        }
+    }
+
+    private ConfigurableApplicationContext startBackend(boolean virtualThreads) {
+        return new SpringApplicationBuilder(BackendApplication.class, StubAmadeusConfig.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "api.client_key=test",
+                        "api.client_secret=test"
+                )
+                .run();
+    }
+
+    /**
+     * Every request uses a different destination so none is answered from the cache.
+     */
+    private static int search(HttpClient client, int port, int request) throws Exception {
+        URI uri = URI.create("http://localhost:" + port + "/api/v1/flights"
+                + "?departureAirportKeyword=MEX&arrivalAirportKeyword=C" + (request + 1)
+                + "&departureDate=2030-01-15&numAdults=1&currency=MXN&nonStop=false");
+        return client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    @TestConfiguration
+    static class StubAmadeusConfig {
+
+        @Bean
+        @Primary
+        AmadeusClient stubAmadeusClient() {
+            return new AmadeusClient(null, null, null, null, "") {
+                @Override
+                public GeneralResponse fetchFlightData(
+                        String departureAirportCode, String arrivalAirportCode,
+                        String departureDate, String arrivalDate,
+                        int numAdults, String currency, boolean nonStop
+                ) {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        gate.await(WAIT_SECONDS, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    GeneralResponse response = new GeneralResponse();
+                    response.setData(new ArrayList<>());
+                    return response;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.flightsearch.backend.airport;
+
+import com.flightsearch.backend.client.AirportNotFoundException;
+import com.flightsearch.backend.client.AmadeusClient;
+import com.flightsearch.backend.client.UpstreamRejectedException;
+import com.flightsearch.backend.metrics.SearchMetrics;
+import com.flightsearch.backend.model.Airport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AirportResolverTest {
+
+    private final AmadeusClient amadeusClient = mock(AmadeusClient.class);
+    private final AirportResolver resolver = new AirportResolver(
+            amadeusClient,
+            mock(AirportIndex.class),
+            Runnable::run,
+            new SearchMetrics(new SimpleMeterRegistry()),
+            4,
+            1_000,
+            3_600
+    );
+
+    @Test
+    @DisplayName("A keyword Amadeus does not know is not looked up again within the negative TTL")
+    void cachesUnknownKeywords() {
+        when(amadeusClient.fetchAirport("Atlantis"))
+                .thenThrow(new AirportNotFoundException("No airport data returned for keyword: Atlantis"));
+
+        assertThrows(AirportNotFoundException.class, () -> resolver.resolveCode("Atlantis"));
+        assertThrows(AirportNotFoundException.class, () -> resolver.resolveCode("atlantis "));
+
+        verify(amadeusClient, times(1)).fetchAirport("Atlantis");
+    }
+
+    @Test
+    @DisplayName("A failed keyword lookup is retried by the next request")
+    void retriesKeywordsAfterTransientFailures() {
+        when(amadeusClient.fetchAirport("Cancun"))
+                .thenThrow(new UpstreamRejectedException("Queue full"))
+                .thenReturn(airport("CUN", "Cancun International"));
+
+        assertThrows(UpstreamRejectedException.class, () -> resolver.resolveCode("Cancun"));
+        assertEquals("CUN", resolver.resolveCode("Cancun"));
+    }
+
+    @Test
+    @DisplayName("A failed name lookup falls back to the code and is retried by the next prefetch")
+    void retriesNamesAfterTransientFailures() {
+        when(amadeusClient.fetchAirport("CUN"))
+                .thenThrow(new RuntimeException("Read timed out"))
+                .thenReturn(airport("CUN", "Cancun International"));
+
+        resolver.prefetch(List.of("CUN"));
+        assertEquals("CUN", resolver.getName("CUN"));
+
+        resolver.prefetch(List.of("CUN"));
+        assertEquals("Cancun International", resolver.getName("CUN"));
+    }
+
+    private static Airport airport(String code, String name) {
+        Airport airport = new Airport();
+        airport.setIataCode(code);
+        airport.setName(name);
+        return airport;
+    }
+}
@@ -0,0 +1,174 @@
+package com.flightsearch.backend.cache;
+
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.model.flightoptions.GeneralResponse;
+import com.flightsearch.backend.utils.SortIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchResultCacheTest {
+
+    private static final long LARGE = 1L << 30;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-15T08:00:00Z"));
+
+    @Test
+    @DisplayName("Entries are fresh until the TTL, stale until the hard TTL and gone after it")
+    void expiresEntriesAfterTheHardTtl() {
+        SearchResultCache cache = new SearchResultCache(10, LARGE, 60, 120, 0, 60, clock);
+        CachedSearch search = search("MEX-CUN", 0);
+        cache.put(search);
+
+        assertSame(search, cache.peek("MEX-CUN"));
+        clock.advance(Duration.ofSeconds(61));
+        assertNull(cache.peek("MEX-CUN"));
+        assertSame(search, cache.get("MEX-CUN"));
+        assertFalse(cache.isFresh(search));
+
+        clock.advance(Duration.ofSeconds(60));
+        assertNull(cache.get("MEX-CUN"));
+        assertNull(cache.getBySearchId(search.getSearchId()));
+        assertEquals(1, cache.getStats().expirations());
+        assertEquals(0, cache.getStats().entries());
+    }
+
+    @Test
+    @DisplayName("Inserting past the entry limit evicts the least frequently used entry")
+    void evictsTheLeastFrequentlyUsedEntry() {
+        SearchResultCache cache = new SearchResultCache(2, LARGE, 600, 3600, 0, 60, clock);
+        cache.put(search("hot", 0));
+        cache.put(search("cold", 0));
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot");
+        }
+
+        cache.put(search("new", 0));
+
+        assertNotNull(cache.get("hot"));
+        assertNotNull(cache.get("new"));
+        assertNull(cache.get("cold"));
+        assertEquals(1, cache.getStats().evictions());
+    }
+
+    @Test
+    @DisplayName("Inserting past the byte limit evicts until the estimate fits, never the new entry")
+    void evictsUntilTheByteLimitHolds() {
+        long entryBytes = search("probe", 20).getEstimatedBytes();
+        SearchResultCache cache = new SearchResultCache(100, entryBytes * 3, 600, 3600, 0, 60, clock);
+        for (int i = 0; i < 3; i++) {
+            cache.put(search("old-" + i, 20));
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        cache.put(search("big", 40));
+
+        assertNotNull(cache.get("big"));
+        assertNull(cache.get("old-0"));
+        assertNull(cache.get("old-1"));
+        assertNotNull(cache.get("old-2"));
+        assertTrue(cache.getStats().estimatedBytes() <= entryBytes * 3);
+    }
+
+    @Test
+    @DisplayName("A replaced entry stays reachable by search ID for the snapshot retention")
+    void keepsReplacedEntriesReachableBySearchId() {
+        SearchResultCache cache = new SearchResultCache(10, LARGE, 600, 3600, 300, 60, clock);
+        CachedSearch first = search("MEX-CUN", 0);
+        CachedSearch refreshed = search("MEX-CUN", 0);
+        cache.put(first);
+        cache.put(refreshed);
+
+        assertSame(refreshed, cache.get("MEX-CUN"));
+        assertSame(first, cache.getBySearchId(first.getSearchId()));
+
+        clock.advance(Duration.ofSeconds(301));
+        assertNull(cache.getBySearchId(first.getSearchId()));
+        assertSame(refreshed, cache.getBySearchId(refreshed.getSearchId()));
+    }
+
+    @Test
+    @DisplayName("Retired snapshots are dropped before live entries when the byte limit is hit")
+    void dropsRetiredSnapshotsBeforeLiveEntries() {
+        long entryBytes = search("probe", 10).getEstimatedBytes();
+        SearchResultCache cache = new SearchResultCache(10, entryBytes * 2, 600, 3600, 300, 60, clock);
+        CachedSearch first = search("MEX-CUN", 10);
+        cache.put(first);
+        cache.put(search("MEX-CUN", 10));
+
+        cache.put(search("MAD-BCN", 10));
+
+        assertNull(cache.getBySearchId(first.getSearchId()));
+        assertNotNull(cache.get("MEX-CUN"));
+        assertNotNull(cache.get("MAD-BCN"));
+        assertEquals(0, cache.getStats().evictions());
+    }
+
+    @Test
+    @DisplayName("A partial result is reachable by search ID only, for the partial retention")
+    void keepsPartialResultsBySearchIdOnly() {
+        SearchResultCache cache = new SearchResultCache(10, LARGE, 600, 3600, 300, 60, clock);
+        CachedSearch partial = search("MEX-NYC", 0);
+        cache.putPartial(partial);
+
+        assertNull(cache.get("MEX-NYC"));
+        assertSame(partial, cache.getBySearchId(partial.getSearchId()));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertNull(cache.getBySearchId(partial.getSearchId()));
+    }
+
+    private CachedSearch search(String key, int offers) {
+        List<FlightOffer> data = new ArrayList<>(offers);
+        for (int i = 0; i < offers; i++) {
+            FlightOffer offer = new FlightOffer();
+            offer.setId(String.valueOf(i + 1));
+            data.add(offer);
+        }
+        GeneralResponse response = new GeneralResponse();
+        response.setData(data);
+        return new CachedSearch(key, response, List.of(), new SortIndex(new long[0], new long[0]), clock.instant());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.flightsearch.backend.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    @Test
+    @DisplayName("Calls the upstream limiter rejected leave the breaker closed")
+    void limiterRejectionsAreNotFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(UpstreamRejectedException.class, () -> breaker.execute(() -> {
+                throw new UpstreamRejectedException("queue full");
+            }));
+        }
+
+        assertEquals("CLOSED", breaker.getStats().state());
+        assertEquals(0, breaker.getStats().consecutiveFailures());
+    }
+
+    @Test
+    @DisplayName("Upstream failures still open the breaker at the threshold")
+    void upstreamFailuresOpenTheBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IOException.class, () -> breaker.execute(() -> {
+                throw new IOException("connection reset");
+            }));
+        }
+
+        assertEquals("OPEN", breaker.getStats().state());
+        assertThrows(CircuitOpenException.class, () -> breaker.execute(() -> "unreachable"));
+    }
+
+    @Test
+    @DisplayName("A rejected half-open trial is released for the next call")
+    void rejectedTrialIsReleased() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        assertThrows(IOException.class, () -> breaker.execute(() -> {
+            throw new IOException("connection reset");
+        }));
+
+        assertThrows(UpstreamRejectedException.class, () -> breaker.execute(() -> {
+            throw new UpstreamRejectedException("queue deadline passed");
+        }));
+        assertEquals("HALF_OPEN", breaker.getStats().state());
+
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals("CLOSED", breaker.getStats().state());
+    }
+}
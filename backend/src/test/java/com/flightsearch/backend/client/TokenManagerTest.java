@@ -0,0 +1,33 @@
+package com.flightsearch.backend.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenManagerTest {
+
+    private static final Duration MARGIN = Duration.ofSeconds(60);
+
+    @Test
+    @DisplayName("A regular token is refreshed one margin before it expires")
+    void refreshesOneMarginBeforeExpiry() {
+        assertEquals(Duration.ofSeconds(1739), TokenManager.refreshDelay(Duration.ofSeconds(1799), MARGIN));
+    }
+
+    @Test
+    @DisplayName("The margin never exceeds half of a short token lifetime")
+    void capsTheMarginAtHalfTheLifetime() {
+        assertEquals(Duration.ofSeconds(45), TokenManager.refreshDelay(Duration.ofSeconds(90), MARGIN));
+    }
+
+    @Test
+    @DisplayName("A token that is (nearly) expired is not refreshed in a tight loop")
+    void neverSchedulesBelowTheMinimumDelay() {
+        assertEquals(Duration.ofSeconds(5), TokenManager.refreshDelay(Duration.ofSeconds(4), MARGIN));
+        assertEquals(Duration.ofSeconds(5), TokenManager.refreshDelay(Duration.ZERO, MARGIN));
+        assertEquals(Duration.ofSeconds(5), TokenManager.refreshDelay(Duration.ofSeconds(-3), MARGIN));
+    }
+}
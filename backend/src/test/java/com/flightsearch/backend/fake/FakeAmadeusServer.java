@@ -0,0 +1,303 @@
+package com.flightsearch.backend.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process stand-in for the Amadeus self-service API. Serves the token, locations and
+ * flight-offers endpoints from the recorded fixtures under fixtures/amadeus, with the
+ * latency, token expiry and faults described by its FakeAmadeusSettings. Every exchange
+ * runs on its own virtual thread, so injected latency never limits concurrency.
+ */
+public final class FakeAmadeusServer implements AutoCloseable {
+
+    private static final String TOKEN_PATH = "/v1/security/oauth2/token";
+    private static final String LOCATIONS_PATH = "/v1/reference-data/locations";
+    private static final String FLIGHT_OFFERS_PATH = "/v2/shopping/flight-offers";
+    private static final String CONTENT_TYPE = "application/vnd.amadeus+json";
+
+    private final FakeAmadeusSettings settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] flightOffers;
+    private final byte[] flightOffersGzip;
+    private final JsonNode locations;
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+    private final AtomicInteger tokenSequence = new AtomicInteger();
+    private final Map<Integer, LongAdder> responsesByStatus = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<InjectedFault> injectedFaults = new ConcurrentLinkedQueue<>();
+
+    private FakeAmadeusServer(FakeAmadeusSettings settings) throws IOException {
+        this.settings = settings;
+        this.flightOffers = readFixture("flight-offers-" + settings.flightOffersFixture() + ".json");
+        this.flightOffersGzip = gzip(flightOffers);
+        this.locations = objectMapper.readTree(readFixture("locations.json"));
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a server on a free loopback port.
+     *
+     * @param settings latency, token and fault behaviour
+     * @return the running server
+     * @throws IOException if the fixtures cannot be read or the port cannot be bound
+     */
+    public static FakeAmadeusServer start(FakeAmadeusSettings settings) throws IOException {
+        FakeAmadeusServer fake = new FakeAmadeusServer(settings);
+        fake.server.start();
+        return fake;
+    }
+
+    /**
+     * @return the value to use as api.base_url
+     */
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * @return how many access tokens were issued
+     */
+    public int tokensIssued() {
+        return tokenSequence.get();
+    }
+
+    /**
+     * @return how many responses were sent per status code
+     */
+    public Map<Integer, Long> responsesByStatus() {
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        responsesByStatus.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return every fault injected so far, in the order they were sent; answers to expired
+     *         tokens are not faults and are not listed
+     */
+    public List<InjectedFault> injectedFaults() {
+        return List.copyOf(injectedFaults);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith(TOKEN_PATH)) {
+                pause(settings.tokenLatency());
+                issueToken(exchange);
+            } else if (path.endsWith(LOCATIONS_PATH)) {
+                pause(settings.locationsLatency());
+                if (admit(exchange)) {
+                    sendLocations(exchange);
+                }
+            } else if (path.endsWith(FLIGHT_OFFERS_PATH)) {
+                pause(settings.flightOffersLatency());
+                if (admit(exchange)) {
+                    sendFlightOffers(exchange);
+                }
+            } else {
+                sendError(exchange, 404, 38196, "Resource not found");
+            }
+        }
+    }
+
+    private void issueToken(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String token = "fake-token-" + tokenSequence.incrementAndGet();
+        tokens.put(token, Instant.now().plus(settings.tokenLifetime()));
+
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("type", "amadeusOAuth2Token");
+        body.put("username", "fake@example.com");
+        body.put("application_name", "fake");
+        body.put("client_id", "fake");
+        body.put("token_type", "Bearer");
+        body.put("access_token", token);
+        body.put("expires_in", settings.tokenLifetime().toSeconds());
+        body.put("state", "approved");
+        body.put("scope", "");
+        send(exchange, 200, "application/json", objectMapper.writeValueAsBytes(body));
+    }
+
+    /**
+     * Checks the bearer token and applies the fault injection.
+     *
+     * @return true if the request should be answered normally
+     */
+    private boolean admit(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = authorization == null ? "" : authorization.replaceFirst("^Bearer ", "");
+        Instant expiresAt = tokens.get(token);
+        if (expiresAt == null || !Instant.now().isBefore(expiresAt)) {
+            sendError(exchange, 401, 38190, "Invalid access token");
+            return false;
+        }
+        Random random = ThreadLocalRandom.current();
+        if (random.nextDouble() < settings.unauthorizedRate()) {
+            tokens.remove(token);
+            recordFault(exchange, 401);
+            sendError(exchange, 401, 38190, "Invalid access token");
+            return false;
+        }
+        if (random.nextDouble() < settings.throttleRate()) {
+            exchange.getResponseHeaders().set("Retry-After", Integer.toString(settings.retryAfterSeconds()));
+            recordFault(exchange, 429);
+            sendError(exchange, 429, 38194, "Too many requests");
+            return false;
+        }
+        if (random.nextDouble() < settings.errorRate()) {
+            recordFault(exchange, 500);
+            sendError(exchange, 500, 141, "SYSTEM ERROR HAS OCCURRED");
+            return false;
+        }
+        return true;
+    }
+
+    private void recordFault(HttpExchange exchange, int status) {
+        injectedFaults.add(new InjectedFault(exchange.getRequestURI().getPath(), queryParameters(exchange), status));
+    }
+
+    private void sendLocations(HttpExchange exchange) throws IOException {
+        String keyword = queryParameter(exchange, "keyword").toUpperCase(Locale.ROOT);
+        ArrayNode matches = objectMapper.createArrayNode();
+        for (JsonNode airport : locations.path("data")) {
+            if (airport.path("iataCode").asText().equals(keyword)
+                    || airport.path("name").asText().contains(keyword)
+                    || airport.path("address").path("cityName").asText().contains(keyword)) {
+                matches.add(airport);
+            }
+        }
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("meta").put("count", matches.size());
+        body.set("data", matches);
+        send(exchange, 200, CONTENT_TYPE, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void sendFlightOffers(HttpExchange exchange) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            send(exchange, 200, CONTENT_TYPE, flightOffersGzip);
+        } else {
+            send(exchange, 200, CONTENT_TYPE, flightOffers);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, int code, String title) throws IOException {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.put("status", status);
+        error.put("code", code);
+        error.put("title", title);
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putArray("errors").add(error);
+        send(exchange, status, CONTENT_TYPE, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        responsesByStatus.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        return queryParameters(exchange).getOrDefault(name, "");
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    parameters.putIfAbsent(
+                            pair.substring(0, separator),
+                            URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static void pause(LatencyDistribution latency) {
+        Duration delay = latency.sample(ThreadLocalRandom.current());
+        if (delay.isZero() || delay.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] readFixture(String name) throws IOException {
+        String path = "fixtures/amadeus/" + name;
+        try (InputStream input = FakeAmadeusServer.class.getClassLoader().getResourceAsStream(path)) {
+            if (input == null) {
+                throw new IOException("Missing fixture: " + path);
+            }
+            return input.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A fault the server injected.
+     *
+     * @param path the request path
+     * @param query the decoded query parameters of the request
+     * @param status the status sent instead of a normal answer
+     */
+    public record InjectedFault(String path, Map<String, String> query, int status) {
+    }
+}
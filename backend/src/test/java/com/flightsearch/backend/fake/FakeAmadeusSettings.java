@@ -0,0 +1,69 @@
+package com.flightsearch.backend.fake;
+
+import java.time.Duration;
+
+/**
+ * Behaviour of a FakeAmadeusServer. Fault rates are per request and checked in order:
+ * a token revoked with 401, then a 429 with Retry-After, then a 500.
+ *
+ * @param flightOffersFixture fixture served for flight searches ("small", "medium" or "large")
+ * @param flightOffersLatency latency of the flight-offers endpoint
+ * @param locationsLatency latency of the locations endpoint
+ * @param tokenLatency latency of the token endpoint
+ * @param tokenLifetime lifetime of the issued access tokens
+ * @param unauthorizedRate share of API requests whose token is revoked and rejected with 401
+ * @param throttleRate share of API requests rejected with 429
+ * @param retryAfterSeconds Retry-After sent with each 429
+ * @param errorRate share of API requests failing with 500
+ */
+public record FakeAmadeusSettings(
+        String flightOffersFixture,
+        LatencyDistribution flightOffersLatency,
+        LatencyDistribution locationsLatency,
+        LatencyDistribution tokenLatency,
+        Duration tokenLifetime,
+        double unauthorizedRate,
+        double throttleRate,
+        int retryAfterSeconds,
+        double errorRate
+) {
+
+    /**
+     * @return a fault-free server answering immediately with the medium fixture and
+     *         tokens that live for 30 minutes, like the Amadeus test environment
+     */
+    public static FakeAmadeusSettings defaults() {
+        return new FakeAmadeusSettings(
+                "medium",
+                LatencyDistribution.none(),
+                LatencyDistribution.none(),
+                LatencyDistribution.none(),
+                Duration.ofMinutes(30),
+                0, 0, 1, 0
+        );
+    }
+
+    public FakeAmadeusSettings withFlightOffersFixture(String fixture) {
+        return new FakeAmadeusSettings(fixture, flightOffersLatency, locationsLatency, tokenLatency,
+                tokenLifetime, unauthorizedRate, throttleRate, retryAfterSeconds, errorRate);
+    }
+
+    public FakeAmadeusSettings withLatency(
+            LatencyDistribution flightOffers,
+            LatencyDistribution locations,
+            LatencyDistribution token
+    ) {
+        return new FakeAmadeusSettings(flightOffersFixture, flightOffers, locations, token,
+                tokenLifetime, unauthorizedRate, throttleRate, retryAfterSeconds, errorRate);
+    }
+
+    public FakeAmadeusSettings withTokenLifetime(Duration lifetime) {
+        return new FakeAmadeusSettings(flightOffersFixture, flightOffersLatency, locationsLatency, tokenLatency,
+                lifetime, unauthorizedRate, throttleRate, retryAfterSeconds, errorRate);
+    }
+
+    public FakeAmadeusSettings withFaults(double unauthorized, double throttled, int retryAfter, double errors) {
+        return new FakeAmadeusSettings(flightOffersFixture, flightOffersLatency, locationsLatency, tokenLatency,
+                tokenLifetime, unauthorized, throttled, retryAfter, errors);
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightsearch.backend.fake;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Log-normal response latency of a fake endpoint, described by its median and 99th
+ * percentile. Upstream latencies are heavily right-skewed, which a log-normal captures
+ * with just these two numbers.
+ *
+ * @param median the median latency
+ * @param p99 the 99th percentile latency, at least the median
+ */
+public record LatencyDistribution(Duration median, Duration p99) {
+
+    private static final double Z_99 = 2.326;
+
+    public LatencyDistribution {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 must not be below the median");
+        }
+    }
+
+    public static LatencyDistribution none() {
+        return fixed(Duration.ZERO);
+    }
+
+    public static LatencyDistribution fixed(Duration latency) {
+        return new LatencyDistribution(latency, latency);
+    }
+
+    public static LatencyDistribution ofMillis(long medianMillis, long p99Millis) {
+        return new LatencyDistribution(Duration.ofMillis(medianMillis), Duration.ofMillis(p99Millis));
+    }
+
+    /**
+     * @param random source of randomness
+     * @return one latency drawn from the distribution
+     */
+    public Duration sample(Random random) {
+        long medianNanos = median.toNanos();
+        if (medianNanos == 0 || median.equals(p99)) {
+            return median;
+        }
+        double sigma = Math.log((double) p99.toNanos() / medianNanos) / Z_99;
+        return Duration.ofNanos((long) (medianNanos * Math.exp(sigma * random.nextGaussian())));
+    }
+}
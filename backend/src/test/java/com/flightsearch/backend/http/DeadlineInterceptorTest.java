@@ -0,0 +1,125 @@
+package com.flightsearch.backend.http;
+
+import com.flightsearch.backend.metrics.SearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeadlineInterceptorTest {
+
+    private static final URI FLIGHT_OFFERS = URI.create("https://test.api.amadeus.com/v2/shopping/flight-offers");
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final HttpClientMetrics metrics = new HttpClientMetrics(new SearchMetrics(new SimpleMeterRegistry()));
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A body still being read at the deadline is aborted")
+    void abortsBodyReadsPastTheDeadline() throws Exception {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor(timeouts(50), scheduler, metrics);
+        BlockingBody body = new BlockingBody();
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, FLIGHT_OFFERS), new byte[0],
+                (request, requestBody) -> new MockClientHttpResponse(body, HttpStatus.OK));
+
+        assertThrows(IOException.class, () -> response.getBody().read());
+        response.close();
+
+        HttpClientStats stats = metrics.getStats();
+        assertEquals(1, stats.deadlineExceeded());
+        assertEquals(1, stats.completed());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    @DisplayName("A response closed before the deadline is left alone")
+    void cancelsTheWatchdogWhenTheResponseIsClosed() throws Exception {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor(timeouts(60_000), scheduler, metrics);
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, FLIGHT_OFFERS), new byte[0],
+                (request, requestBody) -> new MockClientHttpResponse(
+                        new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), HttpStatus.OK));
+
+        assertEquals("{}", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        response.close();
+
+        HttpClientStats stats = metrics.getStats();
+        assertEquals(0, stats.deadlineExceeded());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    @DisplayName("A request that fails before a response arrives is counted as failed")
+    void countsFailedExchanges() {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor(timeouts(60_000), scheduler, metrics);
+
+        assertThrows(IOException.class, () -> interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, FLIGHT_OFFERS), new byte[0],
+                (request, requestBody) -> {
+                    throw new IOException("Connection refused");
+                }));
+
+        HttpClientStats stats = metrics.getStats();
+        assertEquals(1, stats.failed());
+        assertEquals(0, stats.inFlight());
+    }
+
+    private static Map<UpstreamEndpoint, EndpointTimeouts> timeouts(long deadlineMillis) {
+        Map<UpstreamEndpoint, EndpointTimeouts> timeouts = new EnumMap<>(UpstreamEndpoint.class);
+        for (UpstreamEndpoint endpoint : UpstreamEndpoint.values()) {
+            timeouts.put(endpoint, EndpointTimeouts.ofMillis(deadlineMillis, deadlineMillis));
+        }
+        return timeouts;
+    }
+
+    /**
+     * Body whose reads block until it is closed, like a stalled upstream connection.
+     */
+    private static final class BlockingBody extends InputStream {
+
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public int read() throws IOException {
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            throw new IOException("Stream closed");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.flightsearch.backend.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EndpointRoutingRequestFactoryTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private EndpointRoutingRequestFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/reference-data/locations", exchange -> {
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/v2/shopping/flight-offers", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        Map<UpstreamEndpoint, EndpointTimeouts> timeouts = new EnumMap<>(UpstreamEndpoint.class);
+        timeouts.put(UpstreamEndpoint.FLIGHT_OFFERS, EndpointTimeouts.ofMillis(30_000, 30_000));
+        timeouts.put(UpstreamEndpoint.LOCATIONS, EndpointTimeouts.ofMillis(100, 200));
+        timeouts.put(UpstreamEndpoint.TOKEN, EndpointTimeouts.ofMillis(30_000, 30_000));
+        timeouts.put(UpstreamEndpoint.OTHER, EndpointTimeouts.ofMillis(30_000, 30_000));
+        factory = new EndpointRoutingRequestFactory(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), timeouts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Each endpoint gets its own response timeout from the shared client")
+    void appliesTheResponseTimeoutOfTheEndpoint() throws Exception {
+        assertThrows(IOException.class,
+                () -> factory.createRequest(uri("/v1/reference-data/locations?keyword=CUN"), HttpMethod.GET).execute());
+
+        try (ClientHttpResponse response =
+                     factory.createRequest(uri("/v2/shopping/flight-offers"), HttpMethod.GET).execute()) {
+            assertEquals(200, response.getStatusCode().value());
+        }
+    }
+
+    @Test
+    @DisplayName("Endpoints are recognized by their path")
+    void recognizesEndpointsByPath() {
+        assertEquals(UpstreamEndpoint.FLIGHT_OFFERS, UpstreamEndpoint.of(uri("/v2/shopping/flight-offers")));
+        assertEquals(UpstreamEndpoint.LOCATIONS, UpstreamEndpoint.of(uri("/v1/reference-data/locations")));
+        assertEquals(UpstreamEndpoint.TOKEN, UpstreamEndpoint.of(uri("/v1/security/oauth2/token")));
+        assertEquals(UpstreamEndpoint.OTHER, UpstreamEndpoint.of(uri("/v1/shopping/flight-dates")));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,80 @@
+package com.flightsearch.backend.http;
+
+import com.flightsearch.backend.metrics.SearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GzipDecompressionInterceptorTest {
+
+    private static final URI LOCATIONS = URI.create("https://test.api.amadeus.com/v1/reference-data/locations");
+    private static final String BODY = "{\"data\":[{\"iataCode\":\"CUN\",\"name\":\"CANCUN INTL\"}]}";
+
+    private final HttpClientMetrics metrics = new HttpClientMetrics(new SearchMetrics(new SimpleMeterRegistry()));
+    private final GzipDecompressionInterceptor interceptor = new GzipDecompressionInterceptor(metrics);
+
+    @Test
+    @DisplayName("A gzip body is inflated and its encoding headers are dropped")
+    void inflatesGzipBodies() throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, LOCATIONS);
+        MockClientHttpResponse compressed = new MockClientHttpResponse(gzip(BODY), HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        compressed.getHeaders().setContentLength(123);
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> compressed);
+
+        assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(BODY, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertEquals(1, metrics.getStats().gzipResponses());
+    }
+
+    @Test
+    @DisplayName("An empty body marked as gzip reads as empty")
+    void acceptsEmptyGzipBodies() throws Exception {
+        MockClientHttpResponse empty = new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+        empty.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, LOCATIONS), new byte[0], (req, body) -> empty);
+
+        assertEquals(0, response.getBody().readAllBytes().length);
+    }
+
+    @Test
+    @DisplayName("An uncompressed response is passed through untouched")
+    void passesPlainBodiesThrough() throws Exception {
+        MockClientHttpResponse plain = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, LOCATIONS), new byte[0], (req, body) -> plain);
+
+        assertSame(plain, response);
+        assertEquals(0, metrics.getStats().gzipResponses());
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,147 @@
+package com.flightsearch.backend.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightsearch.backend.airport.AirportResolver;
+import com.flightsearch.backend.model.flightoptions.FlightOffer;
+import com.flightsearch.backend.utils.DurationUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the JSON of the response records with the JSON the map-based mappers produced
+ * for the same offer: same keys in the same order, nulls written where the maps held a null
+ * value, conditional keys left out, and empty objects for itineraries without segments and
+ * offers without a price.
+ */
+class FlightResponseSerializationTest {
+
+    private static final String OFFER = """
+            {
+              "id": "1",
+              "itineraries": [
+                {
+                  "duration": "PT5H30M",
+                  "segments": [
+                    {
+                      "id": "1",
+                      "departure": {"iataCode": "MEX"},
+                      "arrival": {"iataCode": "MTY", "at": "2025-12-01T09:30:00"},
+                      "carrierCode": "AM",
+                      "aircraft": {"code": "738"},
+                      "operating": {"carrierCode": "AM"}
+                    },
+                    {
+                      "id": "2",
+                      "departure": {"iataCode": "MTY", "at": "2025-12-01T10:45:00"},
+                      "arrival": {"iataCode": "CUN", "at": "2025-12-01T13:30:00"},
+                      "carrierCode": "AM",
+                      "number": "512",
+                      "aircraft": {"code": "7M8"},
+                      "operating": {"carrierCode": "DL"}
+                    }
+                  ]
+                },
+                {"duration": "PT0M", "segments": []}
+              ],
+              "price": {
+                "currency": "USD",
+                "total": "210.50",
+                "grandTotal": "210.50",
+                "fees": [{"amount": "0.00", "type": "SUPPLIER"}]
+              },
+              "travelerPricings": [
+                {
+                  "travelerId": "1",
+                  "price": {"total": "210.50"},
+                  "fareDetailsBySegment": [
+                    {"segmentId": "1", "cabin": "ECONOMY", "amenities": [{"description": "BAG"}]},
+                    {"segmentId": "2", "cabin": "ECONOMY", "class": "Y"}
+                  ]
+                }
+              ]
+            }
+            """;
+
+    private static final String BASELINE_ESSENTIAL = "{\"id\":\"1\",\"itineraries\":[{"
+            + "\"initialDeparture\":null,\"finalArrival\":\"2025-12-01T13:30:00\","
+            + "\"departureAirportCode\":\"MEX\",\"departureAirportName\":\"MEX\","
+            + "\"arrivalAirportCode\":\"CUN\",\"arrivalAirportName\":\"CUN\","
+            + "\"airlineCode\":\"AM\",\"airlineName\":\"AM\",\"totalFlightTime\":\"5h 30m\","
+            + "\"stops\":[{\"airportCode\":\"MTY\",\"layoverTime\":\"1h 15m\"}]},{}],"
+            + "\"totalPrice\":\"210.50\",\"currency\":\"USD\",\"pricePerTraveler\":\"210.50\"}";
+
+    private static final String BASELINE_DETAIL = "{\"id\":\"1\",\"itineraries\":[{"
+            + "\"initialDeparture\":null,\"finalArrival\":\"2025-12-01T13:30:00\","
+            + "\"departureAirportCode\":\"MEX\",\"departureAirportName\":\"MEX\","
+            + "\"arrivalAirportCode\":\"CUN\",\"arrivalAirportName\":\"CUN\","
+            + "\"totalFlightTime\":\"5h 30m\",\"segments\":["
+            + "{\"departureTime\":null,\"arrivalTime\":\"2025-12-01T09:30:00\","
+            + "\"airlineCode\":\"AM\",\"airlineName\":\"AM\",\"flightNumber\":null,"
+            + "\"aircraftType\":\"738\",\"travelerFares\":[{\"cabin\":\"ECONOMY\",\"class\":null,"
+            + "\"amenities\":[{\"name\":\"BAG\",\"chargeable\":false}]}],\"layoverTime\":\"1h 15m\"},"
+            + "{\"departureTime\":\"2025-12-01T10:45:00\",\"arrivalTime\":\"2025-12-01T13:30:00\","
+            + "\"airlineCode\":\"AM\",\"airlineName\":\"AM\",\"flightNumber\":\"512\","
+            + "\"operatingAirlineCode\":\"DL\",\"operatingAirlineName\":\"DL\",\"aircraftType\":\"7M8\","
+            + "\"travelerFares\":[{\"cabin\":\"ECONOMY\",\"class\":\"Y\",\"amenities\":[]}]}]},{}],"
+            + "\"priceBreakdown\":{\"basePrice\":null,\"totalPrice\":\"210.50\",\"currency\":\"USD\","
+            + "\"fees\":[{\"amount\":\"0.00\",\"type\":\"SUPPLIER\"}],"
+            + "\"pricePerTraveler\":[{\"travelerId\":\"1\",\"travelerType\":null,\"price\":\"210.50\"}]}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FlightOfferMapper flightOfferMapper;
+    private FlightOfferDetailMapper flightOfferDetailMapper;
+
+    @BeforeEach
+    void setUp() {
+        AirportResolver airportResolver = mock(AirportResolver.class);
+        when(airportResolver.getName(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        FlightItineraryMapper itineraryMapper = new FlightItineraryMapper(airportResolver, new DurationUtils());
+        flightOfferMapper = new FlightOfferMapper(itineraryMapper);
+        flightOfferDetailMapper = new FlightOfferDetailMapper(itineraryMapper);
+    }
+
+    @Test
+    @DisplayName("The essential view serializes exactly like the baseline map tree")
+    void essentialViewMatchesBaseline() throws Exception {
+        FlightOffer offer = objectMapper.readValue(OFFER, FlightOffer.class);
+
+        String json = objectMapper.writeValueAsString(
+                flightOfferMapper.buildEssentialFlightList(List.of(offer), null).getFirst());
+
+        assertEquals(BASELINE_ESSENTIAL, json);
+    }
+
+    @Test
+    @DisplayName("The detailed view serializes exactly like the baseline map tree")
+    void detailedViewMatchesBaseline() throws Exception {
+        FlightOffer offer = objectMapper.readValue(OFFER, FlightOffer.class);
+
+        String json = objectMapper.writeValueAsString(flightOfferDetailMapper.buildDetailedFlightOption(offer, null));
+
+        assertEquals(BASELINE_DETAIL, json);
+    }
+
+    @Test
+    @DisplayName("An offer without a price keeps an empty price breakdown and no price keys")
+    void offerWithoutPriceMatchesBaseline() throws Exception {
+        FlightOffer offer = objectMapper.readValue(OFFER, FlightOffer.class);
+        offer.setPrice(null);
+
+        String essential = objectMapper.writeValueAsString(
+                flightOfferMapper.buildEssentialFlightList(List.of(offer), null).getFirst());
+        String detail = objectMapper.writeValueAsString(flightOfferDetailMapper.buildDetailedFlightOption(offer, null));
+
+        assertEquals(BASELINE_ESSENTIAL.substring(0, BASELINE_ESSENTIAL.indexOf(",\"totalPrice\""))
+                + ",\"pricePerTraveler\":\"210.50\"}", essential);
+        assertEquals(BASELINE_DETAIL.substring(0, BASELINE_DETAIL.indexOf("\"priceBreakdown\""))
+                + "\"priceBreakdown\":{}}", detail);
+    }
+}
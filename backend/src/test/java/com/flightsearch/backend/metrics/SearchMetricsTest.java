@@ -0,0 +1,33 @@
+package com.flightsearch.backend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SearchMetrics searchMetrics = new SearchMetrics(registry);
+
+    @Test
+    @DisplayName("Failed and successful runs of a stage are timed under their own outcome")
+    void timesEachOutcomeSeparately() {
+        searchMetrics.record(SearchStage.FETCH, System.nanoTime());
+        searchMetrics.record(SearchStage.FETCH, System.nanoTime(), StageOutcome.ERROR);
+        searchMetrics.record(SearchStage.FETCH, System.nanoTime(), StageOutcome.ERROR);
+
+        assertEquals(1, count(SearchStage.FETCH, StageOutcome.SUCCESS));
+        assertEquals(2, count(SearchStage.FETCH, StageOutcome.ERROR));
+        assertEquals(0, count(SearchStage.FETCH, StageOutcome.CANCELLED));
+    }
+
+    private long count(SearchStage stage, StageOutcome outcome) {
+        return registry.get("flightsearch.stage")
+                .tag("stage", stage.tag())
+                .tag("outcome", outcome.tag())
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.flightsearch.backend.utils;
+
+import com.flightsearch.backend.model.response.FlightSummary;
+import com.flightsearch.backend.model.response.PriceBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FacetAggregatorTest {
+
+    @Test
+    @DisplayName("A wide price range is split into ten buckets ending at the highest price")
+    void splitsWideRangesIntoTenBuckets() {
+        List<PriceBucket> buckets = priceBuckets(10_000, 10_050, 19_999);
+
+        assertEquals(10, buckets.size());
+        assertEquals(new PriceBucket("100.00", "109.99", 2), buckets.getFirst());
+        assertEquals(new PriceBucket("190.00", "199.99", 1), buckets.getLast());
+        assertOrdered(buckets);
+    }
+
+    @Test
+    @DisplayName("A narrow price range gets fewer buckets, none starting above the highest price")
+    void narrowRangesGetFewerBuckets() {
+        List<PriceBucket> buckets = priceBuckets(10_000, 10_003, 10_003);
+
+        assertEquals(4, buckets.size());
+        assertEquals(new PriceBucket("100.00", "100.00", 1), buckets.getFirst());
+        assertEquals(new PriceBucket("100.03", "100.03", 2), buckets.getLast());
+        assertOrdered(buckets);
+    }
+
+    @Test
+    @DisplayName("Equal prices give a single bucket")
+    void equalPricesGiveOneBucket() {
+        assertEquals(List.of(new PriceBucket("250.00", "250.00", 3)), priceBuckets(25_000, 25_000, 25_000));
+    }
+
+    private static void assertOrdered(List<PriceBucket> buckets) {
+        for (int i = 0; i < buckets.size(); i++) {
+            PriceBucket bucket = buckets.get(i);
+            assertTrue(Double.parseDouble(bucket.from()) <= Double.parseDouble(bucket.to()), bucket.toString());
+            if (i > 0) {
+                assertTrue(Double.parseDouble(buckets.get(i - 1).to()) < Double.parseDouble(bucket.from()));
+            }
+        }
+    }
+
+    private static List<PriceBucket> priceBuckets(long... priceCents) {
+        List<FlightSummary> flights = new ArrayList<>();
+        for (int i = 0; i < priceCents.length; i++) {
+            flights.add(new FlightSummary(String.valueOf(i + 1), List.of(), null, "USD", null));
+        }
+        SortIndex sortIndex = new SortIndex(priceCents, new long[priceCents.length]);
+        return FacetAggregator.aggregate(flights, sortIndex, null).prices();
+    }
+}
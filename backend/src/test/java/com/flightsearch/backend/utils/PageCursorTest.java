@@ -0,0 +1,70 @@
+package com.flightsearch.backend.utils;
+
+import com.flightsearch.backend.model.FlightFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCursorTest {
+
+    private static final FlightFilter NONSTOP = new FlightFilter(null, 0, Set.of(), Set.of(), null, null, null, null, null);
+
+    @Test
+    @DisplayName("A cursor survives encoding and matches the sort and filter it was issued for")
+    void roundTripsAndMatchesItsListing() {
+        PageCursor cursor = PageCursor.of("search-1", "PRICE", "DES", NONSTOP, 20);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals("search-1", decoded.searchId());
+        assertEquals("price", decoded.sortBy());
+        assertEquals("des", decoded.order());
+        assertEquals(20, decoded.offset());
+        assertTrue(decoded.matches("price", "des", NONSTOP));
+        assertFalse(decoded.matches("price", "asc", NONSTOP));
+        assertFalse(decoded.matches("duration", "des", NONSTOP));
+        assertFalse(decoded.matches("price", "des", FlightFilter.NONE));
+    }
+
+    @Test
+    @DisplayName("No filter and an empty filter give the same cursor")
+    void treatsEmptyFiltersAsNone() {
+        assertTrue(PageCursor.of("search-1", null, null, null, 10).matches(null, "ASC", FlightFilter.NONE));
+    }
+
+    @Test
+    @DisplayName("Filters match by content, not by hash code")
+    void matchesFiltersByContent() {
+        FlightFilter airlines = new FlightFilter(null, null, Set.of("LH", "AF"), Set.of(), null, null, null, null, null);
+        FlightFilter sameAirlines = new FlightFilter(null, null, Set.of("af", "lh"), Set.of(), null, null, null, null, null);
+        FlightFilter excluded = new FlightFilter(null, null, Set.of(), Set.of("LH", "AF"), null, null, null, null, null);
+        PageCursor cursor = PageCursor.decode(PageCursor.of("search-1", "price", "asc", airlines, 10).encode());
+
+        assertTrue(cursor.matches("price", "asc", sameAirlines));
+        assertFalse(cursor.matches("price", "asc", excluded));
+        assertFalse(cursor.matches("price", "asc", NONSTOP));
+    }
+
+    @Test
+    @DisplayName("Strings that are not cursors are rejected")
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encode("2|search-1|price|asc|")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encode("1|search-1|price|asc|0|10")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encode("2||price|asc||10")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encode("2|search-1|price|asc||-1")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encode("2|search-1|price|asc||ten")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+    }
+}
@@ -4,11 +4,12 @@ import { FlightDetail } from "../models/FlightDetail";
 const BASE_URL = "http://localhost:9090/api/v1/";
 
 /**
- * Fetches the detail of a specific flight by its ID.
+ * Fetches the detail of a specific flight of a given search.
+ * @param searchId The ID of the search the flight belongs to.
  * @param flightId The ID of the flight.
  * @returns The full flight detail.
  */
-export const getFlightDetail = async (flightId: string): Promise<FlightDetail> => {
-  const response = await axios.get<FlightDetail>(`${BASE_URL}flights/${flightId}`);
+export const getFlightDetail = async (searchId: string, flightId: string): Promise<FlightDetail> => {
+  const response = await axios.get<FlightDetail>(`${BASE_URL}searches/${searchId}/flights/${flightId}`);
   return response.data;
 };
@@ -3,6 +3,7 @@ import { FlightDetail } from "../models/FlightDetail";
 import { getFlightDetail } from "../api/flightDetailApi";
 
 interface FlightDetailModalProps {
+  searchId: string;
   flightId: string;
   onClose: () => void;
 }
@@ -12,6 +13,7 @@ interface FlightDetailModalProps {
  * segments, and price breakdown. Uses the new flight detail structure.
  */
 export const FlightDetailModal: React.FC<FlightDetailModalProps> = ({
+  searchId,
   flightId,
   onClose,
 }) => {
@@ -22,14 +24,14 @@ export const FlightDetailModal: React.FC<FlightDetailModalProps> = ({
     const fetchFlightDetail = async () => {
       try {
         setLoading(true);
-        const detail = await getFlightDetail(flightId);
+        const detail = await getFlightDetail(searchId, flightId);
         setFlightDetail(detail);
       } finally {
         setLoading(false);
       }
     };
     fetchFlightDetail();
-  }, [flightId]);
+  }, [searchId, flightId]);
 
   const formatTime = (datetime: string): string => {
     const options: Intl.DateTimeFormatOptions = {
@@ -28,4 +28,10 @@ export interface Stop {
     totalPrice: string;
     currency: string;
     pricePerTraveler: string;
-  }
\ No newline at end of file
+  }
+
+  /**
+   * FRESH when the fares are within the server cache TTL, STALE when they are older
+   * and being refreshed in the background.
+   */
+  export type Freshness = "FRESH" | "STALE";
@@ -5,7 +5,7 @@ import { searchFlights, FlightSearchParams } from "../api/flightSearchApi";
 import { FlightCard } from "../components/FlightCard";
 import { FlightDetailModal } from "../components/FlightDetailModal";
 import { FlightSearchCard } from "../components/FlightSearchCard";
-import { Flight } from "../models/Flight";
+import { Flight, Freshness } from "../models/Flight";
 
 /**
  * Page that shows flight search results, sorting options, and a modal for flight details.
@@ -15,6 +15,9 @@ export const SearchPage: React.FC = () => {
   const [flights, setFlights] = useState<Flight[]>([]);
   const [loading, setLoading] = useState(false);
   const [totalCount, setTotalCount] = useState<number>(0);
+  const [searchId, setSearchId] = useState<string | null>(null);
+  const [freshness, setFreshness] = useState<Freshness>("FRESH");
+  const [fetchedAt, setFetchedAt] = useState<string | null>(null);
   const [selectedFlightId, setSelectedFlightId] = useState<string | null>(null);
   const [showModal, setShowModal] = useState(false);
 
@@ -47,6 +50,9 @@ export const SearchPage: React.FC = () => {
       const response = await searchFlights(typedParams);
       setFlights(response.data);
       setTotalCount(response.counter);
+      setSearchId(response.searchId);
+      setFreshness(response.freshness ?? "FRESH");
+      setFetchedAt(response.fetchedAt ?? null);
     } finally {
       setLoading(false);
     }
@@ -113,8 +119,12 @@ export const SearchPage: React.FC = () => {
 
   return (
     <div className="min-h-screen bg-gray-100">
-      {showModal && selectedFlightId && (
-        <FlightDetailModal flightId={selectedFlightId} onClose={handleCloseModal} />
+      {showModal && searchId && selectedFlightId && (
+        <FlightDetailModal
+          searchId={searchId}
+          flightId={selectedFlightId}
+          onClose={handleCloseModal}
+        />
       )}
 
       <div className="flex justify-center pt-6">
@@ -160,6 +170,13 @@ export const SearchPage: React.FC = () => {
           <p className="text-red-500">No flight information found. Try another search.</p>
         )}
 
+        {!loading && flights.length > 0 && freshness === "STALE" && (
+          <div className="mb-4 inline-block bg-yellow-100 text-yellow-800 text-sm py-1 px-3 rounded">
+            Prices may be out of date
+            {fetchedAt && ` (fetched ${new Date(fetchedAt).toLocaleTimeString()})`}
+          </div>
+        )}
+
         {!loading && flights.length > 0 && (
           <div className="grid gap-4">
             {flights.map((flight) => (